@@ -0,0 +1,166 @@
+package kafkademo.taskmanagersystem.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import kafkademo.taskmanagersystem.repo.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LiveUserIdIndex {
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Long> removedDuringRebuild = new ArrayList<>();
+    private final UserRepository userRepository;
+    private final int chunkSize;
+    private Roaring64Bitmap liveIds = new Roaring64Bitmap();
+    private boolean ready;
+    private boolean rebuilding;
+    private volatile Instant lastSync = Instant.now();
+
+    public LiveUserIdIndex(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${cache.live-user-ids.chunk-size:10000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+        Gauge.builder("cache.live.user.ids", this, LiveUserIdIndex::cardinality)
+                .register(meterRegistry);
+        Gauge.builder("cache.live.user.ids.bytes", this, LiveUserIdIndex::sizeInBytes)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${cache.live-user-ids.rebuild-interval:PT1H}",
+            fixedDelayString = "${cache.live-user-ids.rebuild-interval:PT1H}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+            removedDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Roaring64Bitmap rebuilt = null;
+        try {
+            rebuilt = loadLiveIds();
+            log.info("Live user id index rebuilt: {} ids, {} bytes",
+                    rebuilt.getLongCardinality(), rebuilt.getLongSizeInBytes());
+        } catch (RuntimeException e) {
+            log.error("Can't rebuild live user id index, falling back to database checks", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null) {
+                    removedDuringRebuild.forEach(rebuilt::removeLong);
+                    liveIds = rebuilt;
+                    ready = true;
+                }
+                rebuilding = false;
+                removedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Users deleted on other instances only reach this bitmap through the table, so poll it;
+    // the overlap tolerates clock skew between instances and the database.
+    @Scheduled(fixedDelayString = "${cache.live-user-ids.sync-interval:PT5S}")
+    public void removeDeletedElsewhere() {
+        Instant started = Instant.now();
+        userRepository.findIdsDeletedSince(lastSync.minus(SYNC_OVERLAP)).forEach(this::remove);
+        lastSync = started;
+    }
+
+    public void add(Long userId) {
+        lock.writeLock().lock();
+        try {
+            liveIds.addLong(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            liveIds.removeLong(userId);
+            if (rebuilding) {
+                removedDuringRebuild.add(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Set<Long> findInvalid(Set<Long> userIds) {
+        Set<Long> unknown = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                unknown.addAll(userIds);
+            } else {
+                userIds.stream()
+                        .filter(id -> !liveIds.contains(id))
+                        .forEach(unknown::add);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (unknown.isEmpty()) {
+            return unknown;
+        }
+        Set<Long> existing = userRepository.findExistingIds(unknown);
+        existing.forEach(this::add);
+        unknown.removeAll(existing);
+        return unknown;
+    }
+
+    private Roaring64Bitmap loadLiveIds() {
+        Roaring64Bitmap loaded = new Roaring64Bitmap();
+        long lastId = 0;
+        List<Long> chunk;
+        do {
+            chunk = userRepository.findIdsAfter(lastId, PageRequest.ofSize(chunkSize));
+            chunk.forEach(loaded::addLong);
+            if (!chunk.isEmpty()) {
+                lastId = chunk.get(chunk.size() - 1);
+            }
+        } while (chunk.size() == chunkSize);
+        loaded.runOptimize();
+        return loaded;
+    }
+
+    private long cardinality() {
+        lock.readLock().lock();
+        try {
+            return liveIds.getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            return liveIds.getLongSizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package kafkademo.taskmanagersystem.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Membership changes only evict the entry on the instance that made them, so the TTL is
+ * what bounds how long other instances keep honouring a removed member; keep it short.
+ */
+@Slf4j
+@Component
+public class ProjectMembershipCache {
+    private static final long[] TOO_LARGE = new long[0];
+    private final ExpiringCache<Long, long[]> cache;
+    private final ProjectRepository projectRepository;
+    private final int maxMembers;
+
+    public ProjectMembershipCache(ProjectRepository projectRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${cache.project-members.max-size:10000}") int maxSize,
+                                  @Value("${cache.project-members.ttl:5s}") Duration ttl,
+                                  @Value("${cache.project-members.max-members:1024}")
+                                  int maxMembers) {
+        this.projectRepository = projectRepository;
+        this.maxMembers = maxMembers;
+        cache = new ExpiringCache<>(maxSize, ttl);
+        cache.registerMetrics(meterRegistry, "cache.project.members");
+    }
+
+    public boolean isMember(Long projectId, Long userId) {
+        long[] memberIds = cache.get(projectId, this::loadMemberIds);
+        if (memberIds == TOO_LARGE) {
+            return projectRepository.isMember(projectId, userId);
+        }
+        return Arrays.binarySearch(memberIds, userId) >= 0;
+    }
+
+    public void evict(Long projectId) {
+        log.debug("Evicting cached members of project: {}", projectId);
+        cache.invalidate(projectId);
+    }
+
+    private long[] loadMemberIds(Long projectId) {
+        List<Long> memberIds =
+                projectRepository.findMemberIds(projectId, PageRequest.ofSize(maxMembers + 1));
+        if (memberIds.size() > maxMembers) {
+            return TOO_LARGE;
+        }
+        return memberIds.stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
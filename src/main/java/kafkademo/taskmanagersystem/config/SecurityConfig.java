@@ -1,7 +1,9 @@
 package kafkademo.taskmanagersystem.config;
 
+import jakarta.servlet.DispatcherType;
 import kafkademo.taskmanagersystem.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,8 +27,9 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter authenticationFilter;
 
     @Bean
-    public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder getPasswordEncoder(
+            @Value("${security.password-hashing.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     @Bean
@@ -36,6 +39,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(
                         auth -> auth
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                .permitAll()
                                 .requestMatchers("/swagger-ui/**",
                                         "/auth/**")
                                 .permitAll()
@@ -1,22 +1,28 @@
 package kafkademo.taskmanagersystem.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.concurrent.CompletableFuture;
 import kafkademo.taskmanagersystem.dto.user.request.RegisterUserRequestDto;
 import kafkademo.taskmanagersystem.dto.user.request.UserLoginRequestDto;
 import kafkademo.taskmanagersystem.dto.user.response.ResponseUserDto;
 import kafkademo.taskmanagersystem.dto.user.response.UserLoginResponseDto;
 import kafkademo.taskmanagersystem.security.AuthenticationService;
+import kafkademo.taskmanagersystem.security.LoginThrottle;
 import kafkademo.taskmanagersystem.service.UserService;
 import kafkademo.taskmanagersystem.validation.VerificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -24,20 +30,34 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
+    private static final String BEARER_SCHEMA = "Bearer ";
     private final UserService userService;
     private final AuthenticationService authenticationService;
     private final VerificationService verificationService;
+    private final LoginThrottle loginThrottle;
 
     @PostMapping("/registration")
-    public ResponseUserDto register(@Valid @RequestBody RegisterUserRequestDto requestDto) {
+    public CompletableFuture<ResponseUserDto> register(
+            @Valid @RequestBody RegisterUserRequestDto requestDto) {
         return userService.register(requestDto);
     }
 
     @PostMapping("/login")
-    public UserLoginResponseDto login(@RequestBody @Valid UserLoginRequestDto requestDto) {
+    public CompletableFuture<UserLoginResponseDto> login(
+            @RequestBody @Valid UserLoginRequestDto requestDto,
+            HttpServletRequest request) {
+        loginThrottle.check(requestDto.getEmail(), request.getRemoteAddr());
         return authenticationService.login(requestDto);
     }
 
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (authorization.startsWith(BEARER_SCHEMA)) {
+            authenticationService.logout(authorization.substring(BEARER_SCHEMA.length()));
+        }
+    }
+
     @GetMapping("/confirm")
     public ResponseEntity<?> confirm(@RequestParam String token) {
         boolean isVerified = verificationService.verifyData(token);
@@ -4,27 +4,47 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.UUID;
+import kafkademo.taskmanagersystem.dto.project.CloneProjectDto;
 import kafkademo.taskmanagersystem.dto.project.CreateProjectDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectDeletionJobDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectMembersUpdateDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipChangeDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipDeltaDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectPageDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectStatsDto;
 import kafkademo.taskmanagersystem.dto.project.UpdateProjectDto;
 import kafkademo.taskmanagersystem.dto.task.TaskDto;
 import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.service.ProjectDeletionService;
+import kafkademo.taskmanagersystem.service.ProjectExportService;
 import kafkademo.taskmanagersystem.service.ProjectService;
+import kafkademo.taskmanagersystem.service.ProjectStatsService;
 import kafkademo.taskmanagersystem.service.TaskService;
+import kafkademo.taskmanagersystem.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -33,6 +53,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class ProjectController {
     private final ProjectService projectService;
     private final TaskService taskService;
+    private final ProjectStatsService projectStatsService;
+    private final ProjectDeletionService projectDeletionService;
+    private final ProjectExportService projectExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -44,12 +67,57 @@ public class ProjectController {
         return projectService.create(user, createProjectDto);
     }
 
+    @PostMapping("/{id}/clone")
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(summary = "Clone a project",
+            description = "Create a project with the members and tasks of an existing one, "
+                    + "shifting task due dates by the change of the start date")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProjectDto cloneProject(@AuthenticationPrincipal User user,
+                                   @PathVariable Long id,
+                                   @RequestBody @Valid CloneProjectDto cloneProjectDto) {
+        return projectService.cloneProject(user, id, cloneProjectDto);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get project by id",
             description = "Get project by specific id")
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
-    public ProjectDto findById(@AuthenticationPrincipal User user, @PathVariable Long id) {
-        return projectService.getById(user, id);
+    public ResponseEntity<ProjectDto> findById(@AuthenticationPrincipal User user,
+                                               @PathVariable Long id,
+                                               WebRequest request) {
+        if (request.checkNotModified(ETags.of(projectService.getVersion(user, id)))) {
+            return null;
+        }
+        ProjectDto projectDto = projectService.getById(user, id);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(projectDto.getVersion()))
+                .body(projectDto);
+    }
+
+    @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export project",
+            description = "Stream the project, its tasks and their comments as NDJSON, "
+                    + "gzip-compressed when the client accepts it")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public ResponseEntity<StreamingResponseBody> export(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = projectExportService.export(user, id, gzip);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("project-" + id + ".ndjson")
+                        .build()
+                        .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping
@@ -60,13 +128,44 @@ public class ProjectController {
         return projectService.getByUser(user);
     }
 
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get project task statistics",
+            description = "Get task counts by status and priority and the number of "
+                    + "overdue tasks for the project")
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    public ProjectStatsDto getStats(@AuthenticationPrincipal User user, @PathVariable Long id) {
+        return projectStatsService.getStats(user, id);
+    }
+
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of projects by user",
+            description = "Get projects of the user ordered by ID or END_DATE, "
+                    + "continuing after the given cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProjectPageDto findPageByUser(@AuthenticationPrincipal User user,
+                                         @RequestParam(defaultValue = "ID") String sortBy,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "50") int size) {
+        return projectService.getPageByUser(user, sortBy, cursor, size);
+    }
+
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ResponseStatus(HttpStatus.ACCEPTED)
     @Operation(summary = "Delete project by id",
-            description = "Delete project by specific id")
+            description = "Schedule deletion of the project with its tasks and comments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProjectDeletionJobDto delete(@AuthenticationPrincipal User user,
+                                        @PathVariable Long id) {
+        return projectDeletionService.submit(user, id);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @Operation(summary = "Get project deletion job",
+            description = "Get progress of a project deletion job")
     @PreAuthorize("hasRole('ADMIN')")
-    public void delete(@AuthenticationPrincipal User user, @PathVariable Long id) {
-        projectService.deleteById(user, id);
+    public ProjectDeletionJobDto getDeletionJob(@AuthenticationPrincipal User user,
+                                                @PathVariable UUID jobId) {
+        return projectDeletionService.getJob(user, jobId);
     }
 
     @DeleteMapping("/{projectId}/members")
@@ -91,14 +190,32 @@ public class ProjectController {
         return projectService.addMembers(user, projectId, updateDto);
     }
 
+    @PatchMapping("/{projectId}/members")
+    @Operation(summary = "Add and remove project members",
+            description = "Add and remove project members in one request, "
+                    + "returning only the members that actually changed")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ProjectMembershipDeltaDto updateMembers(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long projectId,
+            @RequestBody @Valid ProjectMembershipChangeDto changeDto) {
+        return projectService.updateMembers(user, projectId, changeDto);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update project by id",
             description = "Update project by specific id")
     @PreAuthorize("hasRole('ADMIN')")
-    public ProjectDto updateById(@AuthenticationPrincipal User user,
-                                 @PathVariable Long id,
-                                 @RequestBody @Valid UpdateProjectDto updateProjectDto) {
-        return projectService.updateById(user, id, updateProjectDto);
+    public ResponseEntity<ProjectDto> updateById(
+            @AuthenticationPrincipal User user,
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid UpdateProjectDto updateProjectDto) {
+        ProjectDto projectDto = projectService.updateById(
+                user, id, updateProjectDto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(projectDto.getVersion()))
+                .body(projectDto);
     }
 
     @GetMapping("/{projectId}/tasks")
@@ -109,4 +226,17 @@ public class ProjectController {
                                            @PathVariable Long projectId) {
         return taskService.getAllByProjectId(user, projectId);
     }
+
+    private boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -3,13 +3,27 @@ package kafkademo.taskmanagersystem.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.Instant;
+import java.util.List;
 import kafkademo.taskmanagersystem.dto.task.CreateTaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchCreateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchResultDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskChangeDto;
 import kafkademo.taskmanagersystem.dto.task.TaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskPageDto;
+import kafkademo.taskmanagersystem.dto.task.TaskSearchDto;
+import kafkademo.taskmanagersystem.dto.task.TaskStateDto;
 import kafkademo.taskmanagersystem.dto.task.UpdateTaskDto;
 import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.service.TaskHistoryService;
 import kafkademo.taskmanagersystem.service.TaskService;
+import kafkademo.taskmanagersystem.util.ETags;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -18,9 +32,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -28,6 +45,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Tasks management", description = "Endpoints for managing tasks")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskHistoryService taskHistoryService;
 
     @PostMapping
     @Operation(summary = "Create task", description = "Create a new task")
@@ -37,11 +55,83 @@ public class TaskController {
         return taskService.create(user, createTaskDto);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create tasks in batch",
+            description = "Create up to 10000 tasks in one project, "
+                    + "reporting the outcome of every item")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<TaskBatchResultDto> createBatch(@AuthenticationPrincipal User user,
+                                                @RequestBody @Valid TaskBatchCreateDto batchDto) {
+        return taskService.createBatch(user, batchDto);
+    }
+
+    @PutMapping("/batch")
+    @Operation(summary = "Update tasks in batch",
+            description = "Update up to 10000 tasks of one project, "
+                    + "reporting the outcome of every item")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public List<TaskBatchResultDto> updateBatch(@AuthenticationPrincipal User user,
+                                                @RequestBody @Valid TaskBatchUpdateDto batchDto) {
+        return taskService.updateBatch(user, batchDto);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks",
+            description = "Search tasks of the user's projects by status, priority, assignee "
+                    + "and due date range, ordered by DUE_DATE or ID and continuing after "
+                    + "the given cursor")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public TaskPageDto search(@AuthenticationPrincipal User user,
+                              @ParameterObject TaskSearchDto searchDto) {
+        return taskService.search(user, searchDto);
+    }
+
+    @GetMapping("/text-search")
+    @Operation(summary = "Full-text search of tasks",
+            description = "Search task names and descriptions of a project by words or "
+                    + "word prefixes, best matches first")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public List<TaskDto> searchText(@AuthenticationPrincipal User user,
+                                    @RequestParam Long projectId,
+                                    @RequestParam("q") String query,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        return taskService.searchText(user, projectId, query, limit);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get task by id", description = "Get task by specific id")
     @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
-    public TaskDto getById(@AuthenticationPrincipal User user, @PathVariable Long id) {
-        return taskService.getById(user, id);
+    public ResponseEntity<TaskDto> getById(@AuthenticationPrincipal User user,
+                                           @PathVariable Long id,
+                                           WebRequest request) {
+        TaskDto taskDto = taskService.getById(user, id);
+        if (request.checkNotModified(ETags.of(taskDto.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(ETags.of(taskDto.getVersion()))
+                .body(taskDto);
+    }
+
+    @GetMapping("/{id}/changes")
+    @Operation(summary = "Get task changes",
+            description = "Get the fields changed by each version of a task, oldest first")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public List<TaskChangeDto> getChanges(@AuthenticationPrincipal User user,
+                                          @PathVariable Long id,
+                                          @RequestParam(defaultValue = "-1") long afterVersion,
+                                          @RequestParam(defaultValue = "50") int size) {
+        return taskHistoryService.getChanges(user, id, afterVersion, size);
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get task state at a point in time",
+            description = "Rebuild a task as it was at the given ISO-8601 instant")
+    @PreAuthorize("hasAnyRole('ROLE_ADMIN', 'ROLE_USER')")
+    public TaskStateDto getStateAt(@AuthenticationPrincipal User user,
+                                   @PathVariable Long id,
+                                   @RequestParam Instant at) {
+        return taskHistoryService.getStateAt(user, id, at);
     }
 
     @DeleteMapping("/{id}")
@@ -57,11 +147,16 @@ public class TaskController {
     @Operation(summary = "Update task by id",
             description = "Update task by specific id")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
-    public TaskDto updateById(
+    public ResponseEntity<TaskDto> updateById(
             @AuthenticationPrincipal User user,
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdateTaskDto updateTaskDto
     ) {
-        return taskService.updateById(user, id, updateTaskDto);
+        TaskDto taskDto = taskService.updateById(
+                user, id, updateTaskDto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(taskDto.getVersion()))
+                .body(taskDto);
     }
 }
@@ -0,0 +1,15 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProjectDeletionJobDto(UUID jobId,
+                                    Long projectId,
+                                    String status,
+                                    long tasksDeleted,
+                                    long commentsDeleted,
+                                    long membersDeleted,
+                                    Instant startedAt,
+                                    Instant finishedAt,
+                                    String error) {
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 @Data
 public class ProjectDto {
     private Long id;
+    private Long version;
     private String name;
     private String description;
     private LocalDate startDate;
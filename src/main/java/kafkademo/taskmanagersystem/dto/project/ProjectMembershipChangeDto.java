@@ -0,0 +1,14 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Data;
+
+@Data
+public class ProjectMembershipChangeDto {
+    @NotNull
+    private Set<Long> add = new HashSet<>();
+    @NotNull
+    private Set<Long> remove = new HashSet<>();
+}
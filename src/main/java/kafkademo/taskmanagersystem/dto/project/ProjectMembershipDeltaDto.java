@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+import java.util.Set;
+
+public record ProjectMembershipDeltaDto(Long projectId, Set<Long> added, Set<Long> removed) {
+}
@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+import java.util.List;
+
+public record ProjectPageDto(List<ProjectDto> content, String nextCursor) {
+}
@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+public enum ProjectSortKey {
+    ID,
+    END_DATE
+}
@@ -0,0 +1,13 @@
+package kafkademo.taskmanagersystem.dto.project;
+
+import java.util.Map;
+import lombok.Data;
+
+@Data
+public class ProjectStatsDto {
+    private Long projectId;
+    private long totalTasks;
+    private long overdueTasks;
+    private Map<String, Long> tasksByStatus;
+    private Map<String, Long> tasksByPriority;
+}
@@ -0,0 +1,25 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import lombok.Data;
+
+@Data
+public class TaskBatchCreateItemDto {
+    @NotBlank
+    @Size(max = 40, message = "Name can't be longer than 40 characters")
+    private String name;
+    @NotBlank
+    @Size(max = 255, message = "Description can't be longer than 255 characters")
+    private String description;
+    @NotBlank
+    private String priority;
+    @NotNull
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate dueDate;
+    @NotNull
+    private Long userId;
+}
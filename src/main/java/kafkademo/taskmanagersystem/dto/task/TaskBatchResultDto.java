@@ -0,0 +1,8 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+public record TaskBatchResultDto(int index,
+                                 Long taskId,
+                                 Long version,
+                                 String status,
+                                 String error) {
+}
@@ -0,0 +1,16 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TaskBatchUpdateDto {
+    @NotNull
+    private Long projectId;
+    @NotEmpty
+    @Size(max = 10000, message = "Batch can't contain more than 10000 tasks")
+    private List<TaskBatchUpdateItemDto> tasks;
+}
@@ -0,0 +1,10 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record TaskChangeDto(long version,
+                            Instant changedAt,
+                            Long changedBy,
+                            Map<String, Object> changes) {
+}
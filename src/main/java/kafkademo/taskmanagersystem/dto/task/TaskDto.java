@@ -6,6 +6,7 @@ import lombok.Data;
 @Data
 public class TaskDto {
     private Long id;
+    private Long version;
     private String name;
     private String description;
     private String priority;
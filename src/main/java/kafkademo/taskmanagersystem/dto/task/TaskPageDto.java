@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import java.util.List;
+
+public record TaskPageDto(List<TaskSummaryDto> content, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import java.time.LocalDate;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+@Data
+public class TaskSearchDto {
+    private Set<Long> projectIds;
+    private String status;
+    private String priority;
+    private Long assigneeId;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+    private String sortBy = TaskSortKey.DUE_DATE.name();
+    private String cursor;
+    private int size = 50;
+}
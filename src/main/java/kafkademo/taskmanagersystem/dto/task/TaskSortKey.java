@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+public enum TaskSortKey {
+    ID,
+    DUE_DATE
+}
@@ -0,0 +1,14 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record TaskStateDto(Long taskId,
+                           long version,
+                           Instant at,
+                           String name,
+                           String description,
+                           String priority,
+                           String status,
+                           LocalDate dueDate) {
+}
@@ -0,0 +1,12 @@
+package kafkademo.taskmanagersystem.dto.task;
+
+import java.time.LocalDate;
+
+public record TaskSummaryDto(Long id,
+                             String name,
+                             String status,
+                             String priority,
+                             LocalDate dueDate,
+                             Long projectId,
+                             Long userId) {
+}
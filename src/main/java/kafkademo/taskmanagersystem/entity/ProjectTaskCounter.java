@@ -0,0 +1,43 @@
+package kafkademo.taskmanagersystem.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "project_task_counters")
+@IdClass(ProjectTaskCounter.Key.class)
+@Getter
+@Setter
+public class ProjectTaskCounter {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Project.Status status;
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Task.Priority priority;
+    @Column(name = "task_count")
+    private long taskCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long projectId;
+        private Project.Status status;
+        private Task.Priority priority;
+    }
+}
@@ -0,0 +1,22 @@
+package kafkademo.taskmanagersystem.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+    @Id
+    private String jti;
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+}
@@ -4,12 +4,15 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import lombok.Getter;
 import lombok.Setter;
@@ -19,9 +22,20 @@ import lombok.Setter;
 @Getter
 @Setter
 public class Task {
+    public static final int ID_ALLOCATION_SIZE = 100;
+    public static final String ID_GENERATOR_TABLE = "id_generators";
+    public static final String ID_GENERATOR_NAME = "tasks";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id",
+            table = ID_GENERATOR_TABLE,
+            pkColumnName = "name",
+            valueColumnName = "next_value",
+            pkColumnValue = ID_GENERATOR_NAME,
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
+    @Version
+    private Long version;
     private String name;
     private String description;
     @Enumerated(EnumType.STRING)
@@ -30,10 +44,10 @@ public class Task {
     private Project.Status status;
     @Column(name = "due_date")
     private LocalDate dueDate;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
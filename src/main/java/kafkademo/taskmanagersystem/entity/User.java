@@ -2,6 +2,7 @@ package kafkademo.taskmanagersystem.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -13,6 +14,7 @@ import jakarta.persistence.Table;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import kafkademo.taskmanagersystem.entity.listener.UserEntityListener;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -26,7 +28,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 @Getter
 @Setter
 @NoArgsConstructor
-@SQLDelete(sql = "UPDATE users SET is_deleted = true WHERE id=?")
+@EntityListeners(UserEntityListener.class)
+@SQLDelete(sql = "UPDATE users SET is_deleted = true, deleted_at = NOW(6) WHERE id=?")
 @SQLRestriction("is_deleted=false")
 public class User implements UserDetails {
     @Id
@@ -47,6 +50,8 @@ public class User implements UserDetails {
     private Set<Role> roles = new HashSet<>();
     @Column(name = "chat_id")
     private Long chatId;
+    @Column(name = "security_epoch", insertable = false, updatable = false)
+    private long securityEpoch;
 
     public User(long id) {
         this.id = id;
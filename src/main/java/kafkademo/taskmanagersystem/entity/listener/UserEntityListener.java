@@ -0,0 +1,25 @@
+package kafkademo.taskmanagersystem.entity.listener;
+
+import jakarta.persistence.PostRemove;
+import kafkademo.taskmanagersystem.cache.LiveUserIdIndex;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.security.PrincipalCache;
+import kafkademo.taskmanagersystem.security.SecurityEpochRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class UserEntityListener {
+    private final PrincipalCache principalCache;
+    private final ObjectProvider<SecurityEpochRegistry> epochRegistry;
+    private final ObjectProvider<LiveUserIdIndex> liveUserIdIndex;
+
+    @PostRemove
+    public void afterSoftDelete(User user) {
+        principalCache.evict(user.getUsername());
+        epochRegistry.getObject().bump(user.getId());
+        liveUserIdIndex.getObject().remove(user.getId());
+    }
+}
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class AccessForbiddenException extends RuntimeException {
+    public AccessForbiddenException(String message) {
+        super(message);
+    }
+}
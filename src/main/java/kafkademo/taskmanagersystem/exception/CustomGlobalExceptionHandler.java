@@ -5,10 +5,12 @@ import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -52,12 +54,56 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
     @ExceptionHandler({
             RegistrationException.class,
             UserNotInProjectException.class,
-            InvalidUserIdsException.class})
+            InvalidUserIdsException.class,
+            InvalidCursorException.class,
+            MalformedHeaderException.class})
     public ResponseEntity<Object> handleBadRequestException(
             Exception e) {
         return getDefaultTemplate(e, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Object> handleAuthenticationException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(AccessForbiddenException.class)
+    public ResponseEntity<Object> handleAccessForbiddenException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloadedException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Object> handleServiceUnavailableException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequestsException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Object> handlePreconditionFailedException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            Exception e) {
+        return getDefaultTemplate(e, HttpStatus.CONFLICT);
+    }
+
     private ResponseEntity<Object> getDefaultTemplate(Throwable e, HttpStatus status) {
         Map<String, Object> body = new LinkedHashMap<>();
         body.put(TIMESTAMP, LocalDateTime.now());
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class MalformedHeaderException extends RuntimeException {
+    public MalformedHeaderException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
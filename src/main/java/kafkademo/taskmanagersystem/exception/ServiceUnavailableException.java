@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
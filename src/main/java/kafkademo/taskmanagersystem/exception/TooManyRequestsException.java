@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package kafkademo.taskmanagersystem.history;
+
+import java.time.Instant;
+
+public record TaskChange(Long taskId,
+                         long version,
+                         Instant changedAt,
+                         Long changedBy,
+                         byte[] payload,
+                         TaskState state) {
+}
@@ -0,0 +1,140 @@
+package kafkademo.taskmanagersystem.history;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+
+/**
+ * Encodes only the fields that differ between two states: a bitmask of changed fields,
+ * a bitmask of those set to null, then the new values in field order. Strings are
+ * length-prefixed UTF-8, dates zig-zag varints of the epoch day and enums their ordinal,
+ * so constants must only ever be appended to {@link Task.Priority} and
+ * {@link Project.Status}.
+ */
+public final class TaskChangeCodec {
+    private static final String[] FIELDS = {"name", "description", "priority", "status",
+            "dueDate"};
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int PRIORITY = 2;
+    private static final int STATUS = 3;
+    private static final int DUE_DATE = 4;
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+    private static final Project.Status[] STATUSES = Project.Status.values();
+
+    private TaskChangeCodec() {
+    }
+
+    public static byte[] encode(TaskState before, TaskState after) {
+        Object[] current = values(after);
+        Object[] previous = before != null ? values(before) : null;
+        int changed = 0;
+        int nulls = 0;
+        for (int field = 0; field < FIELDS.length; field++) {
+            if (previous == null || !Objects.equals(previous[field], current[field])) {
+                changed |= 1 << field;
+                if (current[field] == null) {
+                    nulls |= 1 << field;
+                }
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(changed);
+        out.write(nulls);
+        for (int field = 0; field < FIELDS.length; field++) {
+            if ((changed & ~nulls & (1 << field)) != 0) {
+                writeValue(out, field, current[field]);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static Map<String, Object> decode(byte[] payload) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        read(payload, (value, field) -> changes.put(FIELDS[field], value));
+        return changes;
+    }
+
+    public static TaskState apply(TaskState state, byte[] payload) {
+        Object[] values = values(state);
+        read(payload, (value, field) -> values[field] = value);
+        return new TaskState((String) values[NAME], (String) values[DESCRIPTION],
+                (Task.Priority) values[PRIORITY], (Project.Status) values[STATUS],
+                (LocalDate) values[DUE_DATE]);
+    }
+
+    private static Object[] values(TaskState state) {
+        return new Object[] {state.name(), state.description(), state.priority(),
+                state.status(), state.dueDate()};
+    }
+
+    private static void read(byte[] payload, ObjIntConsumer<Object> sink) {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        int changed = in.get() & 0xFF;
+        int nulls = in.get() & 0xFF;
+        for (int field = 0; field < FIELDS.length; field++) {
+            int bit = 1 << field;
+            if ((changed & bit) != 0) {
+                sink.accept((nulls & bit) != 0 ? null : readValue(in, field), field);
+            }
+        }
+    }
+
+    private static void writeValue(ByteArrayOutputStream out, int field, Object value) {
+        switch (field) {
+            case NAME, DESCRIPTION -> {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                writeVarLong(out, bytes.length);
+                out.writeBytes(bytes);
+            }
+            case PRIORITY, STATUS -> out.write(((Enum<?>) value).ordinal());
+            default -> {
+                long epochDay = ((LocalDate) value).toEpochDay();
+                writeVarLong(out, epochDay << 1 ^ epochDay >> 63);
+            }
+        }
+    }
+
+    private static Object readValue(ByteBuffer in, int field) {
+        return switch (field) {
+            case NAME, DESCRIPTION -> {
+                byte[] bytes = new byte[(int) readVarLong(in)];
+                in.get(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case PRIORITY -> PRIORITIES[in.get()];
+            case STATUS -> STATUSES[in.get()];
+            default -> {
+                long zigZag = readVarLong(in);
+                yield LocalDate.ofEpochDay(zigZag >>> 1 ^ -(zigZag & 1));
+            }
+        };
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,89 @@
+package kafkademo.taskmanagersystem.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.repo.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes task changes in the transaction that changes the tasks, so history commits and
+ * rolls back together with them; a batch of tasks goes out as one JDBC batch. Every change
+ * whose version is a multiple of the snapshot interval also stores the full state, so a
+ * point-in-time read replays at most that many entries.
+ */
+@Component
+public class TaskHistoryRecorder {
+    private final TaskRepository taskRepository;
+    private final int snapshotInterval;
+    private final Timer writeDuration;
+
+    public TaskHistoryRecorder(TaskRepository taskRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${tasks.history.snapshot-interval:20}")
+                               int snapshotInterval) {
+        this.taskRepository = taskRepository;
+        this.snapshotInterval = snapshotInterval;
+        this.writeDuration = meterRegistry.timer("tasks.history.write");
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Task task, Long userId) {
+        recordCreated(List.of(task), userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(List<Task> tasks, Long userId) {
+        write(tasks, Collections.nCopies(tasks.size(), null), userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Task task, TaskState before, Long userId) {
+        recordUpdated(List.of(task), List.of(before), userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(List<Task> tasks, List<TaskState> before, Long userId) {
+        write(tasks, before, userId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long taskId) {
+        taskRepository.deleteHistory(taskId);
+    }
+
+    private void write(List<Task> tasks, List<TaskState> before, Long userId) {
+        Instant now = Instant.now();
+        List<TaskChange> changes = new ArrayList<>(tasks.size());
+        List<TaskChange> snapshots = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            TaskState after = TaskState.of(task);
+            if (after.equals(before.get(i))) {
+                continue;
+            }
+            TaskChange change = new TaskChange(task.getId(), task.getVersion(), now, userId,
+                    TaskChangeCodec.encode(before.get(i), after), after);
+            changes.add(change);
+            if (change.version() % snapshotInterval == 0) {
+                snapshots.add(change);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        writeDuration.record(() -> {
+            taskRepository.insertChanges(changes);
+            if (!snapshots.isEmpty()) {
+                taskRepository.insertSnapshots(snapshots);
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package kafkademo.taskmanagersystem.history;
+
+import java.time.Instant;
+
+public record TaskSnapshot(long version, Instant takenAt, TaskState state) {
+}
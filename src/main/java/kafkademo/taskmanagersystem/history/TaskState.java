@@ -0,0 +1,16 @@
+package kafkademo.taskmanagersystem.history;
+
+import java.time.LocalDate;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+
+public record TaskState(String name,
+                        String description,
+                        Task.Priority priority,
+                        Project.Status status,
+                        LocalDate dueDate) {
+    public static TaskState of(Task task) {
+        return new TaskState(task.getName(), task.getDescription(), task.getPriority(),
+                task.getStatus(), task.getDueDate());
+    }
+}
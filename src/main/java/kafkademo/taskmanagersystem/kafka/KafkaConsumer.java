@@ -2,14 +2,22 @@ package kafkademo.taskmanagersystem.kafka;
 
 import com.example.dto.IsVerificationDto;
 import com.example.dto.VerificationData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 import kafkademo.taskmanagersystem.repo.UserRepository;
 import kafkademo.taskmanagersystem.security.AuthenticationService;
 import kafkademo.taskmanagersystem.validation.VerificationService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class KafkaConsumer {
@@ -18,21 +26,44 @@ public class KafkaConsumer {
     private final UserRepository userRepository;
     private final KafkaProducer producer;
 
-    @KafkaListener(topics = "token-validation-topic", groupId = "task-manager-systems")
-    public void tokenValidate(IsVerificationDto dto) {
-        authenticationService.tokenValidate(dto);
+    @KafkaListener(topics = "token-validation-topic", groupId = "task-manager-systems",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void tokenValidate(List<IsVerificationDto> dtos) {
+        authenticationService.tokenValidate(dtos);
     }
 
-    @KafkaListener(topics = "email-validation-topic", groupId = "task-manager-systems")
-    public void emailValidate(ConsumerRecord<String, VerificationData> record) {
-        String token = record.key();
-        VerificationData verificationData = record.value();
-        boolean isPresent =
-                userRepository.findUserByEmail(verificationData.getEmail()).isPresent();
-        verificationData.setPresent(isPresent);
-        if (isPresent) {
-            verificationService.saveVerificationData(token, verificationData);
+    @KafkaListener(topics = "email-validation-topic", groupId = "task-manager-systems",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void emailValidate(List<ConsumerRecord<String, VerificationData>> records) {
+        Set<String> emails = records.stream()
+                .map(ConsumerRecord::value)
+                .filter(Objects::nonNull)
+                .map(VerificationData::getEmail)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existing = emails.isEmpty()
+                ? Set.of()
+                : userRepository.findExistingEmails(emails).stream()
+                        .map(email -> email.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+        // Every record gets its own response, even when several share a key.
+        List<ConsumerRecord<String, VerificationData>> answered = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, VerificationData> record : records) {
+            try {
+                VerificationData verificationData = record.value();
+                String email = verificationData.getEmail();
+                boolean isPresent = email != null
+                        && existing.contains(email.toLowerCase(Locale.ROOT));
+                verificationData.setPresent(isPresent);
+                if (isPresent) {
+                    verificationService.saveVerificationData(record.key(), verificationData);
+                }
+                answered.add(record);
+            } catch (RuntimeException e) {
+                log.error("Can't validate email of record {}-{}@{}",
+                        record.topic(), record.partition(), record.offset(), e);
+            }
         }
-        producer.sendVerificationData(token, verificationData);
+        producer.sendVerificationData(answered);
     }
 }
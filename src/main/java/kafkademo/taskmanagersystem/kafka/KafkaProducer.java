@@ -3,8 +3,10 @@ package kafkademo.taskmanagersystem.kafka;
 import com.example.dto.IsVerificationDto;
 import com.example.dto.NotificationData;
 import com.example.dto.VerificationData;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
@@ -15,18 +17,37 @@ import org.springframework.stereotype.Service;
 public class KafkaProducer {
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
-    public void sendResponseToAttachmentService(IsVerificationDto dto) {
-        sendMessageToTheTopic("token-validation-response-topic", dto);
+    public void sendResponsesToAttachmentService(List<IsVerificationDto> dtos) {
+        dtos.forEach(dto -> send(new ProducerRecord<>("token-validation-response-topic", dto)));
+        flush();
     }
 
-    public void sendVerificationData(String token, VerificationData verificationData) {
-        sendMessageToTheTopic("email-validation-response-topic", token, verificationData);
+    public void sendVerificationData(List<ConsumerRecord<String, VerificationData>> requests) {
+        requests.forEach(request -> send(new ProducerRecord<>(
+                "email-validation-response-topic", request.key(), request.value())));
+        flush();
     }
 
     public void sendNotificationData(NotificationData notificationData) {
         sendMessageToTheTopic("notification-topic", notificationData);
     }
 
+    private void send(ProducerRecord<String, Object> record) {
+        try {
+            kafkaTemplate.send(record);
+        } catch (Exception e) {
+            log.error("Error sending response: {}:{}", record.key(), record.value(), e);
+        }
+    }
+
+    private void flush() {
+        try {
+            kafkaTemplate.flush();
+        } catch (Exception e) {
+            log.error("Error flushing batch of responses", e);
+        }
+    }
+
     private <V> void sendMessageToTheTopic(String topic, String key, V value) {
         try {
             ProducerRecord<String, Object> record = new ProducerRecord<>(topic, key, value);
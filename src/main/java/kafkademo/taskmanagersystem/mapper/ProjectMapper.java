@@ -7,6 +7,7 @@ import kafkademo.taskmanagersystem.dto.project.CreateProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectDto;
 import kafkademo.taskmanagersystem.entity.Project;
 import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.repo.projection.ProjectSummary;
 import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -17,7 +18,11 @@ public interface ProjectMapper {
     @Mapping(target = "userIds", ignore = true)
     ProjectDto toDto(Project project);
 
+    @Mapping(target = "userIds", ignore = true)
+    ProjectDto toDto(ProjectSummary projectSummary);
+
     @Mapping(target = "users", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Project toModel(CreateProjectDto createProjectDto);
 
     @AfterMapping
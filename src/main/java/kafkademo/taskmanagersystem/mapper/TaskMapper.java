@@ -15,5 +15,6 @@ public interface TaskMapper {
 
     @Mapping(target = "project", ignore = true)
     @Mapping(target = "user", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Task toModel(CreateTaskDto createTaskDto);
 }
@@ -0,0 +1,11 @@
+package kafkademo.taskmanagersystem.repo;
+
+public interface ProjectCloneRepository {
+    int copyMembers(Long sourceId, Long targetId);
+
+    int copyTasks(Long sourceId, Long targetId, long dueDateShiftDays);
+
+    int initTaskCounters(Long projectId);
+
+    int snapshotTasks(Long projectId);
+}
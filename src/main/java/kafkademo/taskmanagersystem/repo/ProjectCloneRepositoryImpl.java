@@ -0,0 +1,87 @@
+package kafkademo.taskmanagersystem.repo;
+
+import kafkademo.taskmanagersystem.entity.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ProjectCloneRepositoryImpl implements ProjectCloneRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reservationTransaction;
+
+    public ProjectCloneRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reservationTransaction = new TransactionTemplate(transactionManager);
+        this.reservationTransaction.setPropagationBehavior(
+                TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public int copyMembers(Long sourceId, Long targetId) {
+        return jdbcTemplate.update(
+                "INSERT INTO projects_users (project_id, user_id) "
+                        + "SELECT ?, user_id FROM projects_users WHERE project_id = ?",
+                targetId, sourceId);
+    }
+
+    @Override
+    public int copyTasks(Long sourceId, Long targetId, long dueDateShiftDays) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM tasks WHERE project_id = ?", Integer.class, sourceId);
+        if (count == null || count == 0) {
+            return 0;
+        }
+        long firstId = reserveTaskIds(count);
+        // LIMIT keeps the copy inside the reserved range even if tasks were added meanwhile.
+        return jdbcTemplate.update(
+                "INSERT INTO tasks (id, name, description, priority, status, due_date, "
+                        + "project_id, user_id) "
+                        + "SELECT ? + ROW_NUMBER() OVER (ORDER BY id) - 1, name, description, "
+                        + "priority, 'INITIATED', DATE_ADD(due_date, INTERVAL ? DAY), ?, user_id "
+                        + "FROM tasks WHERE project_id = ? ORDER BY id LIMIT ?",
+                firstId, dueDateShiftDays, targetId, sourceId, count);
+    }
+
+    @Override
+    public int initTaskCounters(Long projectId) {
+        return jdbcTemplate.update(
+                "INSERT INTO project_task_counters (project_id, status, priority, task_count) "
+                        + "SELECT project_id, status, priority, COUNT(*) FROM tasks "
+                        + "WHERE project_id = ? GROUP BY project_id, status, priority",
+                projectId);
+    }
+
+    @Override
+    public int snapshotTasks(Long projectId) {
+        return jdbcTemplate.update(
+                "INSERT INTO task_snapshots (task_id, version, taken_at, name, description, "
+                        + "priority, status, due_date) "
+                        + "SELECT id, version, NOW(6), name, description, priority, status, "
+                        + "due_date FROM tasks WHERE project_id = ?",
+                projectId);
+    }
+
+    /**
+     * Takes ids from the same table Hibernate's pooled generator uses. The optimizer treats
+     * a stored value V as the block (V - allocationSize, V], which no instance has handed
+     * out yet, so the range starting there is free; advancing V by the count keeps every
+     * later block clear of it. Like Hibernate's own generator, the reservation commits in
+     * its own transaction so the row lock isn't held for the rest of the clone; a clone
+     * that rolls back just leaves a gap in the ids.
+     */
+    private long reserveTaskIds(int count) {
+        Long nextValue = reservationTransaction.execute(status -> {
+            Long current = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM " + Task.ID_GENERATOR_TABLE
+                            + " WHERE name = ? FOR UPDATE",
+                    Long.class, Task.ID_GENERATOR_NAME);
+            jdbcTemplate.update("UPDATE " + Task.ID_GENERATOR_TABLE
+                            + " SET next_value = next_value + ? WHERE name = ?",
+                    count, Task.ID_GENERATOR_NAME);
+            return current;
+        });
+        return nextValue - Task.ID_ALLOCATION_SIZE + 1;
+    }
+}
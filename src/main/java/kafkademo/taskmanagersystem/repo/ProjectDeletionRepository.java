@@ -0,0 +1,19 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.util.List;
+
+public interface ProjectDeletionRepository {
+    List<Long> findTaskIdBatch(Long projectId, int batchSize);
+
+    int deleteCommentsOfTasks(List<Long> taskIds);
+
+    int deleteHistoryOfTasks(List<Long> taskIds);
+
+    int deleteTasks(List<Long> taskIds);
+
+    int deleteMembershipBatch(Long projectId, int batchSize);
+
+    void lockProjectRow(Long projectId);
+
+    int deleteProjectRow(Long projectId);
+}
@@ -0,0 +1,62 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class ProjectDeletionRepositoryImpl implements ProjectDeletionRepository {
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public List<Long> findTaskIdBatch(Long projectId, int batchSize) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM tasks WHERE project_id = ? ORDER BY id LIMIT ?",
+                Long.class, projectId, batchSize);
+    }
+
+    @Override
+    public int deleteCommentsOfTasks(List<Long> taskIds) {
+        return namedParameterJdbcTemplate.update(
+                "DELETE FROM comments WHERE task_id IN (:taskIds)",
+                Map.of("taskIds", taskIds));
+    }
+
+    @Override
+    public int deleteHistoryOfTasks(List<Long> taskIds) {
+        Map<String, List<Long>> params = Map.of("taskIds", taskIds);
+        int changes = namedParameterJdbcTemplate.update(
+                "DELETE FROM task_changes WHERE task_id IN (:taskIds)", params);
+        int snapshots = namedParameterJdbcTemplate.update(
+                "DELETE FROM task_snapshots WHERE task_id IN (:taskIds)", params);
+        return changes + snapshots;
+    }
+
+    @Override
+    public int deleteTasks(List<Long> taskIds) {
+        return namedParameterJdbcTemplate.update(
+                "DELETE FROM tasks WHERE id IN (:taskIds)",
+                Map.of("taskIds", taskIds));
+    }
+
+    @Override
+    public int deleteMembershipBatch(Long projectId, int batchSize) {
+        return jdbcTemplate.update(
+                "DELETE FROM projects_users WHERE project_id = ? LIMIT ?",
+                projectId, batchSize);
+    }
+
+    @Override
+    public void lockProjectRow(Long projectId) {
+        jdbcTemplate.queryForList("SELECT id FROM projects WHERE id = ? FOR UPDATE",
+                Long.class, projectId);
+    }
+
+    @Override
+    public int deleteProjectRow(Long projectId) {
+        return jdbcTemplate.update("DELETE FROM projects WHERE id = ?", projectId);
+    }
+}
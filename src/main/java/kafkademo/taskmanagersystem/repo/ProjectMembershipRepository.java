@@ -0,0 +1,8 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipDeltaDto;
+
+public interface ProjectMembershipRepository {
+    ProjectMembershipDeltaDto updateMembers(Long projectId, Set<Long> toAdd, Set<Long> toRemove);
+}
@@ -0,0 +1,60 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipDeltaDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class ProjectMembershipRepositoryImpl implements ProjectMembershipRepository {
+    private static final int BATCH_SIZE = 500;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    @Transactional
+    public ProjectMembershipDeltaDto updateMembers(Long projectId,
+                                                   Set<Long> toAdd,
+                                                   Set<Long> toRemove) {
+        jdbcTemplate.queryForList("SELECT id FROM projects WHERE id = ? FOR UPDATE",
+                Long.class, projectId);
+        Set<Long> candidates = new HashSet<>(toAdd);
+        candidates.addAll(toRemove);
+        Set<Long> existing = candidates.isEmpty()
+                ? Set.of()
+                : new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                        "SELECT user_id FROM projects_users "
+                                + "WHERE project_id = :projectId AND user_id IN (:userIds)",
+                        Map.of("projectId", projectId, "userIds", candidates),
+                        Long.class));
+        Set<Long> added = new HashSet<>(toAdd);
+        added.removeAll(existing);
+        added.removeAll(toRemove);
+        Set<Long> removed = new HashSet<>(toRemove);
+        removed.retainAll(existing);
+        if (!added.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO projects_users (project_id, user_id) VALUES (?, ?)",
+                    List.copyOf(added), BATCH_SIZE, (statement, userId) -> {
+                        statement.setLong(1, projectId);
+                        statement.setLong(2, userId);
+                    });
+        }
+        if (!removed.isEmpty()) {
+            namedParameterJdbcTemplate.update(
+                    "DELETE FROM projects_users "
+                            + "WHERE project_id = :projectId AND user_id IN (:userIds)",
+                    Map.of("projectId", projectId, "userIds", removed));
+        }
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            jdbcTemplate.update("UPDATE projects SET version = version + 1 WHERE id = ?",
+                    projectId);
+        }
+        return new ProjectMembershipDeltaDto(projectId, added, removed);
+    }
+}
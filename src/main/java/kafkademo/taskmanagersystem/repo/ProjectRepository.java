@@ -1,20 +1,78 @@
 package kafkademo.taskmanagersystem.repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import kafkademo.taskmanagersystem.entity.Project;
-import org.springframework.data.jpa.repository.EntityGraph;
+import kafkademo.taskmanagersystem.repo.projection.MemberContact;
+import kafkademo.taskmanagersystem.repo.projection.ProjectMemberId;
+import kafkademo.taskmanagersystem.repo.projection.ProjectSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-    @Query("SELECT p FROM Project p JOIN p.users u WHERE u.id = :userId")
-    List<Project> findAllByUserId(@Param("userId") Long userId);
+public interface ProjectRepository extends JpaRepository<Project, Long>,
+        ProjectMembershipRepository, ProjectDeletionRepository, ProjectCloneRepository {
+    String SUMMARY_COLUMNS = "SELECT p.id AS id, p.version AS version, p.name AS name, "
+            + "p.description AS description, p.startDate AS startDate, p.endDate AS endDate, "
+            + "p.status AS status ";
+    String SUMMARY = SUMMARY_COLUMNS + "FROM Project p JOIN p.users u WHERE u.id = :userId ";
+
+    @Query(SUMMARY_COLUMNS + "FROM Project p WHERE p.id = :id")
+    Optional<ProjectSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(SUMMARY + "AND p.id > :afterId ORDER BY p.id")
+    List<ProjectSummary> findSummariesById(@Param("userId") Long userId,
+                                           @Param("afterId") long afterId,
+                                           Pageable pageable);
+
+    @Query(SUMMARY + "ORDER BY p.endDate, p.id")
+    List<ProjectSummary> findSummariesByEndDate(@Param("userId") Long userId,
+                                                Pageable pageable);
+
+    @Query(SUMMARY + "AND (p.endDate > :afterEndDate "
+            + "OR (p.endDate = :afterEndDate AND p.id > :afterId)) "
+            + "ORDER BY p.endDate, p.id")
+    List<ProjectSummary> findSummariesByEndDate(@Param("userId") Long userId,
+                                                @Param("afterEndDate") LocalDate afterEndDate,
+                                                @Param("afterId") long afterId,
+                                                Pageable pageable);
+
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM Project p WHERE p.id > :lastId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    @Query("SELECT p.id AS projectId, u.id AS userId "
+            + "FROM Project p JOIN p.users u WHERE p.id IN :projectIds")
+    List<ProjectMemberId> findMemberIdsByProjectIds(
+            @Param("projectIds") Collection<Long> projectIds);
+
+    @Query("SELECT u.id FROM Project p JOIN p.users u WHERE p.id = :projectId ORDER BY u.id")
+    List<Long> findMemberIds(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END "
+            + "FROM Project p JOIN p.users u "
+            + "WHERE p.id = :projectId AND u.id = :userId")
+    boolean isMember(@Param("projectId") Long projectId, @Param("userId") Long userId);
 
-    @EntityGraph(attributePaths = {"users"})
     @Query("SELECT p FROM Project p "
             + "WHERE p.endDate = :today "
-            + "AND p.status != COMPLETED")
-    List<Project> findProjectsWithDueDateTodayAndNotCompleted(@Param("today") LocalDate today);
+            + "AND p.status != COMPLETED "
+            + "AND p.id > :lastId "
+            + "ORDER BY p.id")
+    List<Project> findProjectsWithDueDateTodayAndNotCompleted(@Param("today") LocalDate today,
+                                                              @Param("lastId") long lastId,
+                                                              Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.chatId AS chatId "
+            + "FROM Project p JOIN p.users u "
+            + "WHERE p.id = :projectId AND u.id > :lastUserId "
+            + "ORDER BY u.id")
+    List<MemberContact> findMemberContacts(@Param("projectId") Long projectId,
+                                           @Param("lastUserId") long lastUserId,
+                                           Pageable pageable);
 }
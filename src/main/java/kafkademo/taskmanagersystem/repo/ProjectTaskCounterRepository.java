@@ -0,0 +1,40 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.LocalDate;
+import java.util.List;
+import kafkademo.taskmanagersystem.entity.ProjectTaskCounter;
+import kafkademo.taskmanagersystem.repo.projection.TaskCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ProjectTaskCounterRepository
+        extends JpaRepository<ProjectTaskCounter, ProjectTaskCounter.Key> {
+    List<ProjectTaskCounter> findAllByProjectId(Long projectId);
+
+    @Modifying
+    @Query(value = "INSERT INTO project_task_counters (project_id, status, priority, task_count) "
+            + "VALUES (:projectId, :status, :priority, :delta) "
+            + "ON DUPLICATE KEY UPDATE task_count = task_count + :delta",
+            nativeQuery = true)
+    void increment(@Param("projectId") Long projectId,
+                   @Param("status") String status,
+                   @Param("priority") String priority,
+                   @Param("delta") long delta);
+
+    @Modifying
+    @Query("DELETE FROM ProjectTaskCounter c WHERE c.projectId = :projectId")
+    void deleteAllByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.status AS status, t.priority AS priority, COUNT(t) AS taskCount "
+            + "FROM Task t WHERE t.project.id = :projectId "
+            + "GROUP BY t.status, t.priority")
+    List<TaskCount> countTasksByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT COUNT(t) FROM Task t "
+            + "WHERE t.project.id = :projectId "
+            + "AND t.dueDate < :today "
+            + "AND t.status != COMPLETED")
+    long countOverdueTasks(@Param("projectId") Long projectId, @Param("today") LocalDate today);
+}
@@ -0,0 +1,26 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.Instant;
+import java.util.List;
+import kafkademo.taskmanagersystem.entity.RevokedToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Query("SELECT t FROM RevokedToken t "
+            + "WHERE t.revokedAt >= :since AND t.expiresAt > :now AND t.jti > :lastJti "
+            + "ORDER BY t.jti")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") Instant since,
+                                               @Param("now") Instant now,
+                                               @Param("lastJti") String lastJti,
+                                               Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,21 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import kafkademo.taskmanagersystem.history.TaskChange;
+import kafkademo.taskmanagersystem.history.TaskSnapshot;
+
+public interface TaskHistoryRepository {
+    void insertChanges(List<TaskChange> changes);
+
+    void insertSnapshots(List<TaskChange> changes);
+
+    List<TaskChange> findChanges(Long taskId, long afterVersion, int limit);
+
+    List<TaskChange> findChangesUntil(Long taskId, long afterVersion, Instant until);
+
+    Optional<TaskSnapshot> findSnapshotAt(Long taskId, Instant at);
+
+    int deleteHistory(Long taskId);
+}
@@ -0,0 +1,109 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.history.TaskChange;
+import kafkademo.taskmanagersystem.history.TaskSnapshot;
+import kafkademo.taskmanagersystem.history.TaskState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class TaskHistoryRepositoryImpl implements TaskHistoryRepository {
+    private static final String SELECT_CHANGES = "SELECT task_id, version, changed_at, "
+            + "changed_by, payload FROM task_changes WHERE task_id = ? AND version > ? ";
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertChanges(List<TaskChange> changes) {
+        jdbcTemplate.batchUpdate("INSERT INTO task_changes "
+                        + "(task_id, version, changed_at, changed_by, payload) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                changes, changes.size(), (statement, change) -> {
+                    statement.setLong(1, change.taskId());
+                    statement.setLong(2, change.version());
+                    statement.setTimestamp(3, Timestamp.from(change.changedAt()));
+                    statement.setObject(4, change.changedBy());
+                    statement.setBytes(5, change.payload());
+                });
+    }
+
+    @Override
+    public void insertSnapshots(List<TaskChange> changes) {
+        jdbcTemplate.batchUpdate("INSERT INTO task_snapshots (task_id, version, taken_at, "
+                        + "name, description, priority, status, due_date) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                changes, changes.size(), (statement, change) -> {
+                    TaskState state = change.state();
+                    statement.setLong(1, change.taskId());
+                    statement.setLong(2, change.version());
+                    statement.setTimestamp(3, Timestamp.from(change.changedAt()));
+                    statement.setString(4, state.name());
+                    statement.setString(5, state.description());
+                    statement.setString(6, state.priority() != null
+                            ? state.priority().name()
+                            : null);
+                    statement.setString(7, state.status() != null
+                            ? state.status().name()
+                            : null);
+                    statement.setObject(8, state.dueDate());
+                });
+    }
+
+    @Override
+    public List<TaskChange> findChanges(Long taskId, long afterVersion, int limit) {
+        return jdbcTemplate.query(SELECT_CHANGES + "ORDER BY version LIMIT ?",
+                (rs, rowNum) -> toChange(rs), taskId, afterVersion, limit);
+    }
+
+    @Override
+    public List<TaskChange> findChangesUntil(Long taskId, long afterVersion, Instant until) {
+        return jdbcTemplate.query(SELECT_CHANGES + "AND changed_at <= ? ORDER BY version",
+                (rs, rowNum) -> toChange(rs), taskId, afterVersion, Timestamp.from(until));
+    }
+
+    @Override
+    public Optional<TaskSnapshot> findSnapshotAt(Long taskId, Instant at) {
+        return jdbcTemplate.query("SELECT version, taken_at, name, description, priority, "
+                        + "status, due_date FROM task_snapshots "
+                        + "WHERE task_id = ? AND taken_at <= ? "
+                        + "ORDER BY version DESC LIMIT 1",
+                (rs, rowNum) -> new TaskSnapshot(
+                        rs.getLong("version"),
+                        rs.getTimestamp("taken_at").toInstant(),
+                        new TaskState(
+                                rs.getString("name"),
+                                rs.getString("description"),
+                                toConstant(Task.Priority.class, rs.getString("priority")),
+                                toConstant(Project.Status.class, rs.getString("status")),
+                                rs.getObject("due_date", LocalDate.class))),
+                taskId, Timestamp.from(at)).stream().findFirst();
+    }
+
+    @Override
+    public int deleteHistory(Long taskId) {
+        return jdbcTemplate.update("DELETE FROM task_changes WHERE task_id = ?", taskId)
+                + jdbcTemplate.update("DELETE FROM task_snapshots WHERE task_id = ?", taskId);
+    }
+
+    private TaskChange toChange(ResultSet rs) throws SQLException {
+        return new TaskChange(
+                rs.getLong("task_id"),
+                rs.getLong("version"),
+                rs.getTimestamp("changed_at").toInstant(),
+                rs.getObject("changed_by", Long.class),
+                rs.getBytes("payload"),
+                null);
+    }
+
+    private <E extends Enum<E>> E toConstant(Class<E> type, String value) {
+        return value != null ? Enum.valueOf(type, value) : null;
+    }
+}
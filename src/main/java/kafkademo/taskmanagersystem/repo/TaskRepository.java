@@ -1,19 +1,69 @@
 package kafkademo.taskmanagersystem.repo;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.repo.projection.AssigneeTaskCount;
+import kafkademo.taskmanagersystem.repo.projection.TaskAccess;
+import kafkademo.taskmanagersystem.repo.projection.TaskDue;
+import kafkademo.taskmanagersystem.repo.projection.TaskText;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>,
+        TaskSearchRepository, TaskHistoryRepository {
     List<Task> findAllByProjectId(Long projectId);
 
+    @Query("SELECT t AS task, "
+            + "CASE WHEN EXISTS (SELECT u.id FROM Project p JOIN p.users u "
+            + "WHERE p.id = t.project.id AND u.id = :userId) THEN true ELSE false END AS member "
+            + "FROM Task t WHERE t.id = :id")
+    Optional<TaskAccess> findWithAccessById(@Param("id") Long id,
+                                            @Param("userId") Long userId);
+
     @Query("SELECT t FROM Task t "
             + "JOIN FETCH t.user "
             + "JOIN FETCH t.project "
-            + "WHERE t.dueDate = :today "
-            + "AND t.status != COMPLETED")
-    List<Task> findTasksWithDueDateTodayAndNotCompleted(@Param("today") LocalDate today);
+            + "WHERE t.id IN :ids")
+    List<Task> findAllWithProjectAndUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    List<Task> findAllByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t "
+            + "WHERE t.dueDate BETWEEN :from AND :to "
+            + "AND t.status != COMPLETED "
+            + "AND t.id > :lastId "
+            + "ORDER BY t.id")
+    List<TaskDue> findDueBetween(@Param("from") LocalDate from,
+                                 @Param("to") LocalDate to,
+                                 @Param("lastId") long lastId,
+                                 Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.dueDate AS dueDate FROM Task t "
+            + "WHERE t.project.id = :projectId "
+            + "AND t.dueDate BETWEEN :from AND :to "
+            + "AND t.status != COMPLETED "
+            + "AND t.id > :lastId "
+            + "ORDER BY t.id")
+    List<TaskDue> findDueBetweenInProject(@Param("projectId") Long projectId,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          @Param("lastId") long lastId,
+                                          Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.name AS name, t.description AS description FROM Task t "
+            + "WHERE t.project.id = :projectId AND t.id > :lastId "
+            + "ORDER BY t.id")
+    List<TaskText> findTextByProjectId(@Param("projectId") Long projectId,
+                                       @Param("lastId") long lastId,
+                                       Pageable pageable);
+
+    @Query("SELECT t.user.id AS userId, COUNT(t) AS taskCount FROM Task t "
+            + "WHERE t.project.id = :projectId "
+            + "GROUP BY t.user.id")
+    List<AssigneeTaskCount> countTasksByAssignee(@Param("projectId") Long projectId);
 }
@@ -0,0 +1,20 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.LocalDate;
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.task.TaskSortKey;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+
+public record TaskSearchCriteria(Set<Long> projectIds,
+                                 Long memberId,
+                                 Project.Status status,
+                                 Task.Priority priority,
+                                 Long assigneeId,
+                                 LocalDate dueFrom,
+                                 LocalDate dueTo,
+                                 TaskSortKey sortKey,
+                                 LocalDate afterDueDate,
+                                 long afterId,
+                                 int limit) {
+}
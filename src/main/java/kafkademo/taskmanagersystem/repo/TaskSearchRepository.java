@@ -0,0 +1,8 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.util.List;
+import kafkademo.taskmanagersystem.dto.task.TaskSummaryDto;
+
+public interface TaskSearchRepository {
+    List<TaskSummaryDto> search(TaskSearchCriteria criteria);
+}
@@ -0,0 +1,84 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import kafkademo.taskmanagersystem.dto.task.TaskSortKey;
+import kafkademo.taskmanagersystem.dto.task.TaskSummaryDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class TaskSearchRepositoryImpl implements TaskSearchRepository {
+    private static final String SELECT = "SELECT t.id, t.name, t.status, t.priority, "
+            + "t.due_date, t.project_id, t.user_id FROM tasks t WHERE ";
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public List<TaskSummaryDto> search(TaskSearchCriteria criteria) {
+        SearchQuery query = prepare(criteria);
+        return namedParameterJdbcTemplate.query(query.sql(), query.params(),
+                (rs, rowNum) -> new TaskSummaryDto(
+                        rs.getLong("id"),
+                        rs.getString("name"),
+                        rs.getString("status"),
+                        rs.getString("priority"),
+                        rs.getObject("due_date", LocalDate.class),
+                        rs.getLong("project_id"),
+                        rs.getLong("user_id")));
+    }
+
+    SearchQuery prepare(TaskSearchCriteria criteria) {
+        List<String> conditions = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (criteria.projectIds().isEmpty()) {
+            conditions.add("t.project_id IN (SELECT pu.project_id FROM projects_users pu "
+                    + "WHERE pu.user_id = :memberId)");
+            params.addValue("memberId", criteria.memberId());
+        } else {
+            conditions.add("t.project_id IN (:projectIds)");
+            params.addValue("projectIds", criteria.projectIds());
+        }
+        if (criteria.status() != null) {
+            conditions.add("t.status = :status");
+            params.addValue("status", criteria.status().name());
+        }
+        if (criteria.priority() != null) {
+            conditions.add("t.priority = :priority");
+            params.addValue("priority", criteria.priority().name());
+        }
+        if (criteria.assigneeId() != null) {
+            conditions.add("t.user_id = :assigneeId");
+            params.addValue("assigneeId", criteria.assigneeId());
+        }
+        if (criteria.dueFrom() != null) {
+            conditions.add("t.due_date >= :dueFrom");
+            params.addValue("dueFrom", criteria.dueFrom());
+        }
+        if (criteria.dueTo() != null) {
+            conditions.add("t.due_date <= :dueTo");
+            params.addValue("dueTo", criteria.dueTo());
+        }
+        String orderBy;
+        if (criteria.sortKey() == TaskSortKey.DUE_DATE) {
+            if (criteria.afterDueDate() != null) {
+                conditions.add("(t.due_date > :afterDueDate "
+                        + "OR (t.due_date = :afterDueDate AND t.id > :afterId))");
+                params.addValue("afterDueDate", criteria.afterDueDate());
+                params.addValue("afterId", criteria.afterId());
+            }
+            orderBy = " ORDER BY t.due_date, t.id";
+        } else {
+            conditions.add("t.id > :afterId");
+            params.addValue("afterId", criteria.afterId());
+            orderBy = " ORDER BY t.id";
+        }
+        params.addValue("limit", criteria.limit());
+        return new SearchQuery(SELECT + String.join(" AND ", conditions) + orderBy
+                + " LIMIT :limit", params);
+    }
+
+    record SearchQuery(String sql, MapSqlParameterSource params) {
+    }
+}
@@ -1,16 +1,37 @@
 package kafkademo.taskmanagersystem.repo;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import kafkademo.taskmanagersystem.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserSecurityEpochRepository {
     Optional<User> findUserByEmail(String email);
 
-    @Query("SELECT u.id FROM User u")
-    Set<Long> findAllIds();
+    @Query("SELECT u.id FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("lastId") long lastId, Pageable pageable);
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT id FROM users WHERE deleted_at > :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") Instant since);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
     Set<User> findAllByIdIn(Set<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,11 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.time.Instant;
+import java.util.List;
+import kafkademo.taskmanagersystem.repo.projection.UserSecurityEpoch;
+
+public interface UserSecurityEpochRepository {
+    long bumpSecurityEpoch(Long userId);
+
+    List<UserSecurityEpoch> findSecurityEpochsChangedSince(Instant since, long lastId, int limit);
+}
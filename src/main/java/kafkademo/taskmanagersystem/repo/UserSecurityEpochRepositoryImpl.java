@@ -0,0 +1,40 @@
+package kafkademo.taskmanagersystem.repo;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import kafkademo.taskmanagersystem.repo.projection.UserSecurityEpoch;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Plain JDBC on purpose: bumps also run from entity callbacks during a flush, where going
+ * through the entity manager would trigger another flush. Soft-deleted users are included,
+ * since deleting a user has to invalidate their tokens too.
+ */
+@RequiredArgsConstructor
+public class UserSecurityEpochRepositoryImpl implements UserSecurityEpochRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long bumpSecurityEpoch(Long userId) {
+        jdbcTemplate.update("UPDATE users SET security_epoch = security_epoch + 1, "
+                + "security_changed_at = NOW(6) WHERE id = ?", userId);
+        Long epoch = jdbcTemplate.queryForObject(
+                "SELECT security_epoch FROM users WHERE id = ?", Long.class, userId);
+        return epoch != null ? epoch : 0L;
+    }
+
+    @Override
+    public List<UserSecurityEpoch> findSecurityEpochsChangedSince(Instant since,
+                                                                  long lastId,
+                                                                  int limit) {
+        return jdbcTemplate.query("SELECT id, email, security_epoch FROM users "
+                        + "WHERE security_changed_at > ? AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new UserSecurityEpoch(
+                        rs.getLong("id"),
+                        rs.getString("email"),
+                        rs.getLong("security_epoch")),
+                Timestamp.from(since), lastId, limit);
+    }
+}
@@ -0,0 +1,9 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+public interface MemberContact {
+    Long getId();
+
+    String getEmail();
+
+    Long getChatId();
+}
@@ -0,0 +1,7 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+public interface ProjectMemberId {
+    Long getProjectId();
+
+    Long getUserId();
+}
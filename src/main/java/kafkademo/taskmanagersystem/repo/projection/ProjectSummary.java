@@ -0,0 +1,20 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+import java.time.LocalDate;
+import kafkademo.taskmanagersystem.entity.Project;
+
+public interface ProjectSummary {
+    Long getId();
+
+    Long getVersion();
+
+    String getName();
+
+    String getDescription();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    Project.Status getStatus();
+}
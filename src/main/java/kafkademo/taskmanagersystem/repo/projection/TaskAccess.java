@@ -0,0 +1,9 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+import kafkademo.taskmanagersystem.entity.Task;
+
+public interface TaskAccess {
+    Task getTask();
+
+    boolean isMember();
+}
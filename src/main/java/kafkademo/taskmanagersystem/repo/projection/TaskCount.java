@@ -0,0 +1,12 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+
+public interface TaskCount {
+    Project.Status getStatus();
+
+    Task.Priority getPriority();
+
+    Long getTaskCount();
+}
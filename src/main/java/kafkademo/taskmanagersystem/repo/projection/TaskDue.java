@@ -0,0 +1,9 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+import java.time.LocalDate;
+
+public interface TaskDue {
+    Long getId();
+
+    LocalDate getDueDate();
+}
@@ -0,0 +1,9 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+public interface TaskText {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
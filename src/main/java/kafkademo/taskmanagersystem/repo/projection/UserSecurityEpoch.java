@@ -0,0 +1,4 @@
+package kafkademo.taskmanagersystem.repo.projection;
+
+public record UserSecurityEpoch(Long userId, String email, long epoch) {
+}
@@ -0,0 +1,158 @@
+package kafkademo.taskmanagersystem.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HierarchicalTimingWheel<T> {
+    private final long tickMillis;
+    private final int[] wheelSizes;
+    private final long[] levelTicks;
+    private final Bucket<T>[][] levels;
+    private final Bucket<T> due = new Bucket<>();
+    private final long maxDelayTicks;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int[] wheelSizes, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.wheelSizes = wheelSizes.clone();
+        this.levelTicks = new long[wheelSizes.length];
+        this.levels = new Bucket[wheelSizes.length][];
+        long span = 1;
+        for (int level = 0; level < wheelSizes.length; level++) {
+            levelTicks[level] = span;
+            levels[level] = new Bucket[wheelSizes[level]];
+            for (int slot = 0; slot < wheelSizes[level]; slot++) {
+                levels[level][slot] = new Bucket<>();
+            }
+            span *= wheelSizes[level];
+        }
+        this.maxDelayTicks = span - 1;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMillis);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    public synchronized List<Timeout<T>> advance(long nowMillis) {
+        List<Timeout<T>> expired = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            drain(levels[0][(int) (currentTick % wheelSizes[0])], expired);
+        }
+        drain(due, expired);
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int level) {
+        if (level >= levels.length || currentTick % levelTicks[level] != 0) {
+            return;
+        }
+        cascade(level + 1);
+        Bucket<T> bucket = levels[level][(int) (currentTick / levelTicks[level]
+                % wheelSizes[level])];
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            bucket.remove(timeout);
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadlineTick = Math.floorDiv(timeout.deadlineMillis, tickMillis);
+        long delay = deadlineTick - currentTick;
+        if (delay <= 0) {
+            due.add(timeout);
+            return;
+        }
+        long tick = delay > maxDelayTicks ? currentTick + maxDelayTicks : deadlineTick;
+        delay = tick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delay >= levelTicks[level + 1]) {
+            level++;
+        }
+        levels[level][(int) (tick / levelTicks[level] % wheelSizes[level])].add(timeout);
+    }
+
+    private void drain(Bucket<T> bucket, List<Timeout<T>> expired) {
+        Timeout<T> timeout = bucket.head;
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            bucket.remove(timeout);
+            expired.add(timeout);
+            timeout = next;
+        }
+    }
+
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineMillis;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineMillis) {
+            this.payload = payload;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadlineMillis() {
+            return deadlineMillis;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+
+        private void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = null;
+            timeout.next = head;
+            if (head != null) {
+                head.prev = timeout;
+            }
+            head = timeout;
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+    }
+}
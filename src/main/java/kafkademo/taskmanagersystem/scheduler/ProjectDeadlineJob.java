@@ -0,0 +1,108 @@
+package kafkademo.taskmanagersystem.scheduler;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.List;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.kafka.KafkaProducer;
+import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.repo.projection.MemberContact;
+import kafkademo.taskmanagersystem.service.MessageFormer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Slf4j
+@Component
+public class ProjectDeadlineJob {
+    private static final String SCHEDULE = "0 0 9,17 * * *";
+    private final ProjectRepository projectRepository;
+    private final MessageFormer messageFormer;
+    private final KafkaProducer kafkaProducer;
+    private final EntityManager entityManager;
+    private final Pageable chunk;
+    private final Timer duration;
+    private final DistributionSummary scanned;
+    private final DistributionSummary sent;
+
+    public ProjectDeadlineJob(ProjectRepository projectRepository,
+                              MessageFormer messageFormer,
+                              KafkaProducer kafkaProducer,
+                              EntityManager entityManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${notifications.deadline.chunk-size:500}") int chunkSize) {
+        this.projectRepository = projectRepository;
+        this.messageFormer = messageFormer;
+        this.kafkaProducer = kafkaProducer;
+        this.entityManager = entityManager;
+        this.chunk = PageRequest.ofSize(chunkSize);
+        this.duration = Timer.builder("notifications.deadline.duration")
+                .tag("job", "project")
+                .register(meterRegistry);
+        this.scanned = DistributionSummary.builder("notifications.deadline.rows")
+                .tag("job", "project")
+                .register(meterRegistry);
+        this.sent = DistributionSummary.builder("notifications.deadline.sent")
+                .tag("job", "project")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = SCHEDULE)
+    @Transactional(readOnly = true)
+    public void notifyOverdueProjects() {
+        Timer.Sample sample = Timer.start();
+        LocalDate today = LocalDate.now();
+        long rows = 0;
+        long messages = 0;
+        long lastProjectId = 0;
+        List<Project> projects;
+        do {
+            projects = projectRepository.findProjectsWithDueDateTodayAndNotCompleted(
+                    today, lastProjectId, chunk);
+            rows += projects.size();
+            for (Project project : projects) {
+                long notified = notifyMembers(project);
+                rows += notified;
+                messages += notified;
+                lastProjectId = project.getId();
+            }
+            entityManager.clear();
+        } while (projects.size() == chunk.getPageSize());
+        long nanos = sample.stop(duration);
+        scanned.record(rows);
+        sent.record(messages);
+        log.info("Project deadline job scanned {} rows and sent {} notifications in {} ms",
+                rows, messages, nanos / 1_000_000);
+    }
+
+    private long notifyMembers(Project project) {
+        long messages = 0;
+        long lastUserId = 0;
+        List<MemberContact> members;
+        do {
+            members = projectRepository.findMemberContacts(project.getId(), lastUserId, chunk);
+            for (MemberContact member : members) {
+                kafkaProducer.sendNotificationData(
+                        messageFormer.formMessageAboutProjectDeadline(project, toUser(member)));
+                messages++;
+                lastUserId = member.getId();
+            }
+        } while (members.size() == chunk.getPageSize());
+        return messages;
+    }
+
+    private User toUser(MemberContact member) {
+        User user = new User(member.getId());
+        user.setEmail(member.getEmail());
+        user.setChatId(member.getChatId());
+        return user;
+    }
+}
@@ -0,0 +1,237 @@
+package kafkademo.taskmanagersystem.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.kafka.KafkaProducer;
+import kafkademo.taskmanagersystem.repo.TaskRepository;
+import kafkademo.taskmanagersystem.repo.projection.TaskDue;
+import kafkademo.taskmanagersystem.scheduler.HierarchicalTimingWheel.Timeout;
+import kafkademo.taskmanagersystem.service.MessageFormer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+public class TaskReminderScheduler {
+    private static final int[] WHEEL_SIZES = {60, 60, 24, 64};
+    private final Map<Long, Map<Duration, Timeout<Reminder>>> pendingByTask = new HashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TaskRepository taskRepository;
+    private final MessageFormer messageFormer;
+    private final KafkaProducer kafkaProducer;
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Duration[] offsets;
+    private final Duration maxOffset;
+    private final Duration minOffset;
+    private final LocalTime dueTime;
+    private final Duration window;
+    private final Pageable chunk;
+    private final Counter sent;
+    private long loadedUntil;
+
+    public TaskReminderScheduler(TaskRepository taskRepository,
+                                 MessageFormer messageFormer,
+                                 KafkaProducer kafkaProducer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tasks.reminders.offsets:24h,1h}") Duration[] offsets,
+                                 @Value("${tasks.reminders.due-time:18:00}") String dueTime,
+                                 @Value("${tasks.reminders.window:48h}") Duration window,
+                                 @Value("${tasks.reminders.tick:PT1S}") Duration tick,
+                                 @Value("${tasks.reminders.chunk-size:1000}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.messageFormer = messageFormer;
+        this.kafkaProducer = kafkaProducer;
+        this.offsets = offsets.clone();
+        this.maxOffset = Arrays.stream(offsets).max(Duration::compareTo).orElse(Duration.ZERO);
+        this.minOffset = Arrays.stream(offsets).min(Duration::compareTo).orElse(Duration.ZERO);
+        this.dueTime = LocalTime.parse(dueTime);
+        this.window = window;
+        this.chunk = PageRequest.ofSize(chunkSize);
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_SIZES,
+                System.currentTimeMillis());
+        this.loadedUntil = System.currentTimeMillis();
+        this.sent = Counter.builder("tasks.reminders.sent").register(meterRegistry);
+        Gauge.builder("tasks.reminders.pending", wheel, HierarchicalTimingWheel::size)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${tasks.reminders.refill-interval:PT1H}",
+            fixedDelayString = "${tasks.reminders.refill-interval:PT1H}")
+    public void refill() {
+        long now = System.currentTimeMillis();
+        long from = Math.max(now, getLoadedUntil());
+        long until = now + window.toMillis();
+        int loaded = load(null, from, until);
+        setLoadedUntil(until);
+        log.info("Loaded {} task reminders due before {}", loaded, until);
+    }
+
+    @Scheduled(fixedRateString = "${tasks.reminders.tick:PT1S}")
+    public void fireDueReminders() {
+        List<Timeout<Reminder>> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            expired.forEach(this::forget);
+        }
+        Set<Long> taskIds = expired.stream()
+                .map(timeout -> timeout.payload().taskId())
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllWithProjectAndUserByIdIn(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        for (Timeout<Reminder> timeout : expired) {
+            Task task = tasks.get(timeout.payload().taskId());
+            if (task != null && task.getStatus() != Project.Status.COMPLETED
+                    && remindAt(task.getDueDate(), timeout.payload().offset())
+                    == timeout.deadlineMillis()) {
+                kafkaProducer.sendNotificationData(messageFormer.formMessageAboutTaskDeadline(
+                        task.getProject().getName(), task, task.getUser()));
+                sent.increment();
+            }
+        }
+    }
+
+    public void reschedule(Task task) {
+        afterCommit(() -> {
+            cancelAll(task.getId());
+            if (task.getStatus() != Project.Status.COMPLETED) {
+                long now = System.currentTimeMillis();
+                schedule(task.getId(), task.getDueDate(), now, now + window.toMillis(), true);
+            }
+        });
+    }
+
+    public void cancel(Long taskId) {
+        afterCommit(() -> cancelAll(taskId));
+    }
+
+    public void scheduleProject(Long projectId) {
+        afterCommit(() -> {
+            int loaded = load(projectId, System.currentTimeMillis(), getLoadedUntil());
+            log.info("Loaded {} task reminders for project {}", loaded, projectId);
+        });
+    }
+
+    private int load(Long projectId, long from, long until) {
+        LocalDate fromDate = toDate(from + minOffset.toMillis());
+        LocalDate toDate = toDate(until + maxOffset.toMillis());
+        int loaded = 0;
+        long lastId = 0;
+        List<TaskDue> tasks;
+        do {
+            tasks = projectId == null
+                    ? taskRepository.findDueBetween(fromDate, toDate, lastId, chunk)
+                    : taskRepository.findDueBetweenInProject(
+                            projectId, fromDate, toDate, lastId, chunk);
+            for (TaskDue task : tasks) {
+                loaded += schedule(task.getId(), task.getDueDate(), from, until, false);
+                lastId = task.getId();
+            }
+        } while (tasks.size() == chunk.getPageSize());
+        return loaded;
+    }
+
+    // A load may read a due date that a commit on this instance has already rescheduled,
+    // so loaded rows never replace a pending reminder; only reschedule does.
+    private synchronized int schedule(Long taskId,
+                                      LocalDate dueDate,
+                                      long from,
+                                      long until,
+                                      boolean replace) {
+        int scheduled = 0;
+        for (Duration offset : offsets) {
+            long at = remindAt(dueDate, offset);
+            if (at <= from || at > until) {
+                continue;
+            }
+            Map<Duration, Timeout<Reminder>> pending =
+                    pendingByTask.computeIfAbsent(taskId, id -> new HashMap<>());
+            Timeout<Reminder> existing = pending.get(offset);
+            if (existing != null && !replace) {
+                continue;
+            }
+            pending.put(offset, wheel.schedule(new Reminder(taskId, offset), at));
+            if (existing != null) {
+                wheel.cancel(existing);
+            }
+            scheduled++;
+        }
+        return scheduled;
+    }
+
+    private synchronized void cancelAll(Long taskId) {
+        Map<Duration, Timeout<Reminder>> pending = pendingByTask.remove(taskId);
+        if (pending != null) {
+            pending.values().forEach(wheel::cancel);
+        }
+    }
+
+    private void forget(Timeout<Reminder> timeout) {
+        Reminder reminder = timeout.payload();
+        Map<Duration, Timeout<Reminder>> pending = pendingByTask.get(reminder.taskId());
+        if (pending != null) {
+            pending.remove(reminder.offset(), timeout);
+            if (pending.isEmpty()) {
+                pendingByTask.remove(reminder.taskId());
+            }
+        }
+    }
+
+    private synchronized long getLoadedUntil() {
+        return loadedUntil;
+    }
+
+    private synchronized void setLoadedUntil(long loadedUntil) {
+        this.loadedUntil = loadedUntil;
+    }
+
+    private long remindAt(LocalDate dueDate, Duration offset) {
+        return dueDate.atTime(dueTime).atZone(zone).minus(offset).toInstant().toEpochMilli();
+    }
+
+    private LocalDate toDate(long millis) {
+        return Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    private record Reminder(Long taskId, Duration offset) {
+    }
+}
@@ -0,0 +1,263 @@
+package kafkademo.taskmanagersystem.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+final class ProjectTextIndex {
+    private static final double NAME_WEIGHT = 2.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.5;
+    private static final int TERM_OVERHEAD_BYTES = 96;
+    private static final int DOCUMENT_OVERHEAD_BYTES = 80;
+    private static final Comparator<TaskTextHit> BY_RANK = Comparator
+            .comparingDouble(TaskTextHit::score)
+            .thenComparingLong(TaskTextHit::taskId);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, RoaringBitmap> nameTerms = new TreeMap<>();
+    private final NavigableMap<String, RoaringBitmap> descriptionTerms = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Set<Long> touchedWhileLoading = new HashSet<>();
+    private final RoaringBitmap freeDocIds = new RoaringBitmap();
+    private long[] taskIds = new long[16];
+    private int nextDocId;
+    private boolean loading;
+
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = true;
+            touchedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endLoad() {
+        lock.writeLock().lock();
+        try {
+            loading = false;
+            touchedWhileLoading.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void put(long taskId, Collection<String> nameTokens, Collection<String> descriptionTokens) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(taskId);
+            }
+            index(taskId, nameTokens, descriptionTokens);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void load(long taskId, Collection<String> nameTokens, Collection<String> descriptionTokens) {
+        lock.writeLock().lock();
+        try {
+            if (!touchedWhileLoading.contains(taskId)) {
+                index(taskId, nameTokens, descriptionTokens);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            if (loading) {
+                touchedWhileLoading.add(taskId);
+            }
+            Document document = documents.remove(taskId);
+            if (document != null) {
+                unindex(document);
+                freeDocIds.add(document.docId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<TaskTextHit> search(List<String> tokens, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = null;
+            List<TokenHits> tokenHits = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                RoaringBitmap names = union(nameTerms, token);
+                RoaringBitmap descriptions = union(descriptionTerms, token);
+                RoaringBitmap any = RoaringBitmap.or(names, descriptions);
+                matched = matched == null ? any : RoaringBitmap.and(matched, any);
+                if (matched.isEmpty()) {
+                    return List.of();
+                }
+                tokenHits.add(new TokenHits(names, nameTerms.get(token),
+                        descriptionTerms.get(token)));
+            }
+            if (matched == null) {
+                return List.of();
+            }
+            PriorityQueue<TaskTextHit> top = new PriorityQueue<>(limit + 1, BY_RANK);
+            matched.forEach((int docId) -> {
+                double score = 0;
+                for (TokenHits hits : tokenHits) {
+                    score += hits.score(docId);
+                }
+                top.offer(new TaskTextHit(taskIds[docId], score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            });
+            List<TaskTextHit> ranked = new ArrayList<>(top);
+            ranked.sort(BY_RANK.reversed());
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return nameTerms.size() + descriptionTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = termBytes(nameTerms) + termBytes(descriptionTerms)
+                    + (long) Long.BYTES * taskIds.length + freeDocIds.getLongSizeInBytes();
+            for (Document document : documents.values()) {
+                bytes += DOCUMENT_OVERHEAD_BYTES + (long) Integer.BYTES
+                        * (document.nameTerms().length + document.descriptionTerms().length);
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(long taskId,
+                       Collection<String> nameTokens,
+                       Collection<String> descriptionTokens) {
+        Document previous = documents.get(taskId);
+        int docId;
+        if (previous != null) {
+            unindex(previous);
+            docId = previous.docId();
+        } else if (!freeDocIds.isEmpty()) {
+            docId = freeDocIds.first();
+            freeDocIds.remove(docId);
+            taskIds[docId] = taskId;
+        } else {
+            docId = nextDocId++;
+            if (docId == taskIds.length) {
+                taskIds = Arrays.copyOf(taskIds, taskIds.length * 2);
+            }
+            taskIds[docId] = taskId;
+        }
+        documents.put(taskId, new Document(docId,
+                addPostings(nameTerms, nameTokens, docId),
+                addPostings(descriptionTerms, descriptionTokens, docId)));
+    }
+
+    private void unindex(Document document) {
+        removePostings(nameTerms, document.nameTerms(), document.docId());
+        removePostings(descriptionTerms, document.descriptionTerms(), document.docId());
+    }
+
+    private static String[] addPostings(NavigableMap<String, RoaringBitmap> terms,
+                                        Collection<String> tokens,
+                                        int docId) {
+        String[] keys = new String[tokens.size()];
+        int i = 0;
+        for (String token : tokens) {
+            Map.Entry<String, RoaringBitmap> entry = terms.ceilingEntry(token);
+            if (entry != null && entry.getKey().equals(token)) {
+                entry.getValue().add(docId);
+                keys[i++] = entry.getKey();
+            } else {
+                terms.put(token, RoaringBitmap.bitmapOf(docId));
+                keys[i++] = token;
+            }
+        }
+        return keys;
+    }
+
+    private static void removePostings(Map<String, RoaringBitmap> terms,
+                                       String[] keys,
+                                       int docId) {
+        for (String key : keys) {
+            RoaringBitmap postings = terms.get(key);
+            if (postings != null) {
+                postings.remove(docId);
+                if (postings.isEmpty()) {
+                    terms.remove(key);
+                }
+            }
+        }
+    }
+
+    private static RoaringBitmap union(NavigableMap<String, RoaringBitmap> terms, String prefix) {
+        Collection<RoaringBitmap> postings = terms
+                .subMap(prefix, true, prefix + Character.MAX_VALUE, false)
+                .values();
+        return postings.isEmpty() ? new RoaringBitmap() : FastAggregation.or(postings.iterator());
+    }
+
+    private static long termBytes(Map<String, RoaringBitmap> terms) {
+        long bytes = 0;
+        for (Map.Entry<String, RoaringBitmap> entry : terms.entrySet()) {
+            bytes += TERM_OVERHEAD_BYTES + 2L * entry.getKey().length()
+                    + entry.getValue().getLongSizeInBytes();
+        }
+        return bytes;
+    }
+
+    private record Document(int docId, String[] nameTerms, String[] descriptionTerms) {
+    }
+
+    private record TokenHits(RoaringBitmap names,
+                             RoaringBitmap exactNames,
+                             RoaringBitmap exactDescriptions) {
+        private double score(int docId) {
+            if (names.contains(docId)) {
+                return exactNames != null && exactNames.contains(docId)
+                        ? NAME_WEIGHT
+                        : NAME_WEIGHT * PREFIX_FACTOR;
+            }
+            return exactDescriptions != null && exactDescriptions.contains(docId)
+                    ? DESCRIPTION_WEIGHT
+                    : DESCRIPTION_WEIGHT * PREFIX_FACTOR;
+        }
+    }
+}
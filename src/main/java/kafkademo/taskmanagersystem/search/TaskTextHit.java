@@ -0,0 +1,4 @@
+package kafkademo.taskmanagersystem.search;
+
+public record TaskTextHit(long taskId, double score) {
+}
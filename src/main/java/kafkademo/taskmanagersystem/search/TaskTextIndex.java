@@ -0,0 +1,269 @@
+package kafkademo.taskmanagersystem.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.repo.TaskRepository;
+import kafkademo.taskmanagersystem.repo.projection.TaskText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Slf4j
+@Component
+public class TaskTextIndex {
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 32;
+    private final Map<Long, ProjectTextIndex> projects = new ConcurrentHashMap<>();
+    private final Map<Long, ProjectTextIndex> reloading = new ConcurrentHashMap<>();
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final Timer queryTimer;
+    private final int loaderThreads;
+    private final Pageable chunk;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile boolean ready;
+
+    public TaskTextIndex(TaskRepository taskRepository,
+                         ProjectRepository projectRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${search.tasks.loader-threads:4}") int loaderThreads,
+                         @Value("${search.tasks.chunk-size:1000}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.loaderThreads = loaderThreads;
+        this.chunk = PageRequest.ofSize(chunkSize);
+        this.queryTimer = meterRegistry.timer("search.tasks.query");
+        Gauge.builder("search.tasks.index.documents", this,
+                        index -> index.sum(ProjectTextIndex::documentCount))
+                .register(meterRegistry);
+        Gauge.builder("search.tasks.index.terms", this,
+                        index -> index.sum(ProjectTextIndex::termCount))
+                .register(meterRegistry);
+        Gauge.builder("search.tasks.index.bytes", this,
+                        index -> index.sum(ProjectTextIndex::estimatedBytes))
+                .description("Estimated heap used by the task text index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        Thread.ofPlatform()
+                .name("task-text-index-rebuild")
+                .daemon()
+                .start(this::rebuild);
+    }
+
+    // Only this instance's writes reach the index directly, so a periodic reload picks up
+    // tasks and projects changed elsewhere. The reload runs on its own thread to keep the
+    // shared scheduler free.
+    @Scheduled(initialDelayString = "${search.tasks.refresh-interval:PT15M}",
+            fixedDelayString = "${search.tasks.refresh-interval:PT15M}")
+    public void refresh() {
+        if (!rebuilding.get()) {
+            startRebuild();
+        }
+    }
+
+    private void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Set<Long> indexed = new HashSet<>(projects.keySet());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService loader = Executors.newFixedThreadPool(loaderThreads, runnable ->
+                new Thread(runnable, "task-text-index-loader-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<Integer>> loads = new ArrayList<>();
+            long lastId = 0;
+            List<Long> projectIds;
+            do {
+                projectIds = projectRepository.findIdsAfter(lastId, chunk);
+                for (Long projectId : projectIds) {
+                    loads.add(loader.submit(() -> load(projectId)));
+                    indexed.remove(projectId);
+                    lastId = projectId;
+                }
+            } while (projectIds.size() == chunk.getPageSize());
+            long documents = 0;
+            for (Future<Integer> load : loads) {
+                documents += load.get();
+            }
+            // Whatever was indexed before the scan but not returned by it was deleted elsewhere.
+            indexed.forEach(this::drop);
+            ready = true;
+            log.info("Task text index built: {} projects, {} tasks in {} ms",
+                    loads.size(), documents, System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Task text index rebuild interrupted");
+        } catch (ExecutionException | RuntimeException e) {
+            log.error("Can't build task text index", e);
+        } finally {
+            loader.shutdownNow();
+            rebuilding.set(false);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(Task task) {
+        long projectId = task.getProject().getId();
+        long taskId = task.getId();
+        Set<String> nameTokens = tokenize(task.getName());
+        Set<String> descriptionTokens = tokenize(task.getDescription());
+        afterCommit(() -> reloading.compute(projectId, (id, fresh) -> {
+            if (fresh != null) {
+                fresh.put(taskId, nameTokens, descriptionTokens);
+            }
+            projects.computeIfAbsent(id, key -> new ProjectTextIndex())
+                    .put(taskId, nameTokens, descriptionTokens);
+            return fresh;
+        }));
+    }
+
+    public void remove(Long projectId, Long taskId) {
+        afterCommit(() -> reloading.compute(projectId, (id, fresh) -> {
+            if (fresh != null) {
+                fresh.remove(taskId);
+            }
+            ProjectTextIndex index = projects.get(id);
+            if (index != null) {
+                index.remove(taskId);
+            }
+            return fresh;
+        }));
+    }
+
+    public void loadProject(Long projectId) {
+        afterCommit(() -> load(projectId));
+    }
+
+    public void removeProject(Long projectId) {
+        afterCommit(() -> drop(projectId));
+    }
+
+    public List<TaskTextHit> search(Long projectId, String query, int limit) {
+        Set<String> tokens = tokenize(query);
+        ProjectTextIndex index = projects.get(projectId);
+        if (tokens.isEmpty() || index == null) {
+            return List.of();
+        }
+        return queryTimer.record(() -> index.search(List.copyOf(tokens), limit));
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                if (i - start >= MIN_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH))
+                            .toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Loads into a fresh index so tasks deleted since the last load don't survive it. Writes
+    // made meanwhile go to both indexes, and the fresh one keeps them over the loaded rows.
+    private int load(Long projectId) {
+        ProjectTextIndex index = new ProjectTextIndex();
+        index.beginLoad();
+        reloading.put(projectId, index);
+        int loaded = 0;
+        boolean complete = false;
+        try {
+            long lastId = 0;
+            List<TaskText> tasks;
+            do {
+                tasks = taskRepository.findTextByProjectId(projectId, lastId, chunk);
+                for (TaskText task : tasks) {
+                    index.load(task.getId(), tokenize(task.getName()),
+                            tokenize(task.getDescription()));
+                    lastId = task.getId();
+                }
+                loaded += tasks.size();
+            } while (tasks.size() == chunk.getPageSize());
+            complete = true;
+        } finally {
+            boolean swap = complete;
+            reloading.computeIfPresent(projectId, (id, fresh) -> {
+                if (fresh != index) {
+                    return fresh;
+                }
+                index.endLoad();
+                if (swap) {
+                    projects.put(id, index);
+                }
+                return null;
+            });
+        }
+        return loaded;
+    }
+
+    private void drop(Long projectId) {
+        reloading.compute(projectId, (id, fresh) -> {
+            projects.remove(id);
+            return null;
+        });
+    }
+
+    private double sum(ToLongFunction<ProjectTextIndex> metric) {
+        long total = 0;
+        for (ProjectTextIndex index : projects.values()) {
+            total += metric.applyAsLong(index);
+        }
+        return total;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+}
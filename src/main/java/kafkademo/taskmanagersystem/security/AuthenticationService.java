@@ -1,11 +1,15 @@
 package kafkademo.taskmanagersystem.security;
 
 import com.example.dto.IsVerificationDto;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import kafkademo.taskmanagersystem.dto.user.request.UserLoginRequestDto;
 import kafkademo.taskmanagersystem.dto.user.response.UserLoginResponseDto;
 
 public interface AuthenticationService {
-    UserLoginResponseDto login(UserLoginRequestDto requestDto);
+    CompletableFuture<UserLoginResponseDto> login(UserLoginRequestDto requestDto);
 
-    void tokenValidate(IsVerificationDto dto);
+    void logout(String token);
+
+    void tokenValidate(List<IsVerificationDto> dtos);
 }
@@ -1,14 +1,20 @@
 package kafkademo.taskmanagersystem.security;
 
 import com.example.dto.IsVerificationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import kafkademo.taskmanagersystem.dto.user.request.UserLoginRequestDto;
 import kafkademo.taskmanagersystem.dto.user.response.UserLoginResponseDto;
+import kafkademo.taskmanagersystem.entity.User;
 import kafkademo.taskmanagersystem.kafka.KafkaProducer;
+import kafkademo.taskmanagersystem.repo.UserRepository;
+import kafkademo.taskmanagersystem.util.TokenDigest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -16,27 +22,82 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class AuthenticationServiceImpl implements AuthenticationService {
     private final JwtUtil jwtUtil;
-    private final AuthenticationManager authenticationManager;
+    private final UserRepository userRepository;
+    private final PasswordHashingService passwordHashingService;
     private final KafkaProducer producer;
+    private final TokenVerdictCache tokenVerdictCache;
+    private final TokenRevocationStore revocationStore;
+    private final MeterRegistry meterRegistry;
 
     @Override
-    public UserLoginResponseDto login(UserLoginRequestDto requestDto) {
-        final Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        requestDto.getEmail(), requestDto.getPassword())
-        );
-        String token = jwtUtil.generateToken(authentication.getName());
-        return new UserLoginResponseDto(token);
+    public CompletableFuture<UserLoginResponseDto> login(UserLoginRequestDto requestDto) {
+        Optional<User> user = userRepository.findUserByEmail(requestDto.getEmail());
+        CompletableFuture<Boolean> matches = user.isPresent()
+                ? passwordHashingService.matches(requestDto.getPassword(),
+                        user.get().getPassword())
+                : passwordHashingService.matchesUnknownUser(requestDto.getPassword());
+        return matches.thenApply(matched -> {
+            if (!matched) {
+                throw new BadCredentialsException("Invalid email or password");
+            }
+            rehashIfNeeded(user.get(), requestDto.getPassword());
+            return new UserLoginResponseDto(jwtUtil.generateToken(user.get()));
+        });
     }
 
     @Override
-    public void tokenValidate(IsVerificationDto dto) {
-        try {
-            log.info("Got token from attachment: " + dto.getToken());
-            dto.setValid(jwtUtil.isValidToken(dto.getToken()));
-            producer.sendResponseToAttachmentService(dto);
-        } catch (Exception e) {
-            log.error("Error processing token: " + dto.getToken(), e);
+    public void logout(String token) {
+        jwtUtil.verify(token).ifPresent(claims -> {
+            revocationStore.revoke(claims);
+            tokenVerdictCache.evict(TokenDigest.sha256(token));
+        });
+    }
+
+    @Override
+    public void tokenValidate(List<IsVerificationDto> dtos) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        log.info("Got {} tokens from attachment", dtos.size());
+        for (IsVerificationDto dto : dtos) {
+            try {
+                dto.setValid(isValid(dto.getToken()));
+            } catch (Exception e) {
+                log.error("Error processing token from attachment", e);
+                dto.setValid(false);
+            }
+        }
+        producer.sendResponsesToAttachmentService(dtos);
+        sample.stop(meterRegistry.timer("security.token.validation.batch"));
+        meterRegistry.counter("security.token.validation.records").increment(dtos.size());
+    }
+
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHashingService.needsRehash(user.getPassword())) {
+            return;
+        }
+        passwordHashingService.encode(rawPassword)
+                .thenAccept(hash -> userRepository.updatePassword(user.getId(), hash))
+                .exceptionally(e -> {
+                    log.warn("Password rehash skipped for userId: {}", user.getId(), e);
+                    return null;
+                });
+    }
+
+    private boolean isValid(String token) {
+        if (token == null) {
+            return false;
+        }
+        String tokenHash = TokenDigest.sha256(token);
+        Optional<Boolean> cachedVerdict = tokenVerdictCache.get(tokenHash);
+        if (cachedVerdict.isPresent()) {
+            return cachedVerdict.get();
+        }
+        Optional<TokenClaims> claims = jwtUtil.verify(token)
+                .filter(tokenClaims -> !revocationStore.isRevoked(tokenClaims.id()));
+        if (claims.isPresent()) {
+            tokenVerdictCache.putValid(tokenHash, claims.get().expiration());
+            return true;
         }
+        tokenVerdictCache.putInvalid(tokenHash);
+        return false;
     }
 }
@@ -5,6 +5,12 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import kafkademo.taskmanagersystem.entity.Role;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.validation.EnumValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -24,6 +30,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final SecurityEpochRegistry epochRegistry;
+    private final TokenRevocationStore revocationStore;
 
     @Override
     protected void doFilterInternal(
@@ -33,17 +42,44 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         String token = getToken(request);
 
-        if (token != null && jwtUtil.isValidToken(token)) {
-            String userName = jwtUtil.getEmail(token);
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities()
-            );
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            jwtUtil.verify(token)
+                    .filter(claims -> !revocationStore.isRevoked(claims.id()))
+                    .ifPresent(this::authenticate);
         }
         filterChain.doFilter(request, response);
     }
 
+    private void authenticate(TokenClaims claims) {
+        UserDetails userDetails = Optional.of(claims)
+                .filter(epochRegistry::isCurrent)
+                .flatMap(this::toPrincipal)
+                .orElseGet(() -> principalCache.get(
+                        claims.subject(), userDetailsService::loadUserByUsername));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities()
+        );
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    private Optional<UserDetails> toPrincipal(TokenClaims claims) {
+        Set<Role> roles = new HashSet<>();
+        for (String roleName : claims.roles()) {
+            Optional<Role.RoleName> name =
+                    EnumValidator.findConstantIfValid(Role.RoleName.class, roleName);
+            if (name.isEmpty()) {
+                return Optional.empty();
+            }
+            Role role = new Role();
+            role.setRoleName(name.get());
+            roles.add(role);
+        }
+        User user = new User(claims.userId());
+        user.setEmail(claims.subject());
+        user.setRoles(roles);
+        return Optional.of(user);
+    }
+
     private String getToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(BEARER_SCHEMA)) {
@@ -1,59 +1,110 @@
 package kafkademo.taskmanagersystem.security;
 
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import javax.crypto.SecretKey;
+import kafkademo.taskmanagersystem.entity.Role;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.util.TokenDigest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
 public class JwtUtil {
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String EPOCH_CLAIM = "sepoch";
     private final SecretKey secret;
+    private final JwtParser parser;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.self-contained:false}")
+    private boolean selfContained;
+
     public JwtUtil(@Value("${jwt.secret}") String secretString) {
         secret = Keys.hmacShaKeyFor(secretString.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(secret)
+                .build();
     }
 
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .subject(email)
+    public String generateToken(User user) {
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getEmail())
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(secret)
-                .compact();
+                .expiration(new Date(System.currentTimeMillis() + expiration));
+        if (selfContained) {
+            builder.claim(USER_ID_CLAIM, user.getId())
+                    .claim(ROLES_CLAIM, user.getRoles().stream()
+                            .map(Role::getRoleName)
+                            .map(Enum::name)
+                            .toList())
+                    .claim(EPOCH_CLAIM, user.getSecurityEpoch());
+        }
+        return builder.signWith(secret).compact();
     }
 
-    public boolean isValidToken(String token) {
+    public Optional<TokenClaims> verify(String token) {
         try {
-            Jws<Claims> claimsJws = Jwts.parser()
-                    .verifyWith(secret)
-                    .build()
-                    .parseSignedClaims(token);
-            return claimsJws.getPayload().getExpiration().after(new Date());
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (!claims.getExpiration().after(new Date())) {
+                return Optional.empty();
+            }
+            return Optional.of(new TokenClaims(
+                    claims.getId() != null ? claims.getId() : TokenDigest.sha256(token),
+                    claims.getSubject(),
+                    getLong(claims, USER_ID_CLAIM),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()),
+                    getRoles(claims),
+                    getLong(claims, EPOCH_CLAIM)
+            ));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean isValidToken(String token) {
+        return verify(token).isPresent();
+    }
+
     public String getEmail(String token) {
-        return getClaim(token, Claims::getSubject);
+        return verify(token)
+                .map(TokenClaims::subject)
+                .orElseThrow(() -> new JwtException("Invalid or expired token"));
     }
 
-    private <T> T getClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = Jwts.parser()
-                .verifyWith(secret)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claimsResolver.apply(claims);
+    private Long getLong(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    private Set<String> getRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (roles instanceof Collection<?> collection) {
+            return collection.stream()
+                    .map(String::valueOf)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return Set.of();
+    }
+
+    private Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
     }
 }
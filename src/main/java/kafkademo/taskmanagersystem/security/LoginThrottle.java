@@ -0,0 +1,61 @@
+package kafkademo.taskmanagersystem.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Locale;
+import kafkademo.taskmanagersystem.exception.TooManyRequestsException;
+import kafkademo.taskmanagersystem.util.TokenBucketTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoginThrottle {
+    private final TokenBucketTable accountBuckets;
+    private final TokenBucketTable addressBuckets;
+    private final MeterRegistry meterRegistry;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${security.login-throttle.account-capacity:5}")
+                         int accountCapacity,
+                         @Value("${security.login-throttle.account-refill-interval:30s}")
+                         Duration accountRefillInterval,
+                         @Value("${security.login-throttle.address-capacity:20}")
+                         int addressCapacity,
+                         @Value("${security.login-throttle.address-refill-interval:3s}")
+                         Duration addressRefillInterval,
+                         @Value("${security.login-throttle.max-entries:100000}")
+                         int maxEntries) {
+        this.meterRegistry = meterRegistry;
+        this.accountBuckets = new TokenBucketTable(accountCapacity,
+                accountRefillInterval.toNanos(), maxEntries);
+        this.addressBuckets = new TokenBucketTable(addressCapacity,
+                addressRefillInterval.toNanos(), maxEntries);
+        Gauge.builder("security.login.throttle.buckets", accountBuckets, TokenBucketTable::size)
+                .tag("key", "account")
+                .register(meterRegistry);
+        Gauge.builder("security.login.throttle.buckets", addressBuckets, TokenBucketTable::size)
+                .tag("key", "address")
+                .register(meterRegistry);
+    }
+
+    public void check(String email, String address) {
+        long now = System.nanoTime();
+        if (!addressBuckets.tryConsume(address, now)
+                || !accountBuckets.tryConsume(email.toLowerCase(Locale.ROOT), now)) {
+            meterRegistry.counter("security.login.throttled").increment();
+            log.warn("Login throttled for address: {}", address);
+            throw new TooManyRequestsException("Too many login attempts, please retry later");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.login-throttle.idle-sweep-interval:PT1M}")
+    public void removeIdleBuckets() {
+        long now = System.nanoTime();
+        accountBuckets.removeRefilled(now);
+        addressBuckets.removeRefilled(now);
+    }
+}
@@ -0,0 +1,96 @@
+package kafkademo.taskmanagersystem.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import kafkademo.taskmanagersystem.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PasswordHashingService {
+    private static final String ENCODE = "encode";
+    private static final String MATCHES = "matches";
+    private static final String UNKNOWN_USER_PASSWORD = "userNotFoundPassword";
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Executor completionExecutor;
+    private final Timer queueWait;
+    private final String unknownUserHash;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("applicationTaskExecutor")
+                                  Executor completionExecutor,
+                                  @Value("${security.password-hashing.threads:4}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}")
+                                  int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.completionExecutor = completionExecutor;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable,
+                        "password-hashing-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.unknownUserHash = passwordEncoder.encode(UNKNOWN_USER_PASSWORD);
+        this.queueWait = meterRegistry.timer("security.password.hashing.queue.wait");
+        Gauge.builder("security.password.hashing.queue.size", executor,
+                pool -> pool.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(ENCODE, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(MATCHES, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesUnknownUser(String rawPassword) {
+        return matches(rawPassword, unknownUserHash).thenApply(matched -> false);
+    }
+
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> hashing) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            // Callers continue with database work, which must not hold the hashing threads.
+            return CompletableFuture.supplyAsync(() -> {
+                queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return meterRegistry.timer("security.password.hashing", "operation", operation)
+                        .record(hashing);
+            }, executor).thenApplyAsync(Function.identity(), completionExecutor);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("security.password.hashing.rejected").increment();
+            log.warn("Password hashing queue is full, rejecting {} request", operation);
+            return CompletableFuture.failedFuture(new ServiceOverloadedException(
+                    "Service is temporarily overloaded, please retry later"));
+        }
+    }
+}
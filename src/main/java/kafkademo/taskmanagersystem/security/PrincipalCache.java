@@ -0,0 +1,32 @@
+package kafkademo.taskmanagersystem.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.Function;
+import kafkademo.taskmanagersystem.util.ExpiringCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class PrincipalCache {
+    private final ExpiringCache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        cache = new ExpiringCache<>(maxSize, ttl);
+        cache.registerMetrics(meterRegistry, "security.principal.cache");
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return cache.get(username, loader);
+    }
+
+    public void evict(String username) {
+        log.debug("Evicting cached principal: {}", username);
+        cache.invalidate(username);
+    }
+}
@@ -0,0 +1,80 @@
+package kafkademo.taskmanagersystem.security;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import kafkademo.taskmanagersystem.repo.UserRepository;
+import kafkademo.taskmanagersystem.repo.projection.UserSecurityEpoch;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Epochs are stored in users.security_epoch and mirrored in memory for users whose epoch
+ * was ever bumped. Each instance loads them at startup and then polls for bumps made
+ * elsewhere, evicting the cached principals of those users; the poll re-reads a margin
+ * before the previous one to tolerate clock skew between instances.
+ */
+@Slf4j
+@Component
+public class SecurityEpochRegistry {
+    private static final long INITIAL_EPOCH = 0L;
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private final ConcurrentHashMap<Long, Long> epochs = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final int chunkSize;
+    private Instant lastSync = Instant.EPOCH;
+
+    public SecurityEpochRegistry(UserRepository userRepository,
+                                 PrincipalCache principalCache,
+                                 @Value("${security.epoch.load-chunk-size:10000}")
+                                 int chunkSize) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostConstruct
+    public void restore() {
+        sync();
+        log.info("Restored security epochs of {} users", epochs.size());
+    }
+
+    public long currentEpoch(Long userId) {
+        return epochs.getOrDefault(userId, INITIAL_EPOCH);
+    }
+
+    public void bump(Long userId) {
+        long epoch = userRepository.bumpSecurityEpoch(userId);
+        epochs.merge(userId, epoch, Math::max);
+        log.info("Security epoch for userId: {} moved to {}", userId, epoch);
+    }
+
+    public boolean isCurrent(TokenClaims claims) {
+        return claims.isSelfContained() && claims.epoch() == currentEpoch(claims.userId());
+    }
+
+    @Scheduled(fixedDelayString = "${security.epoch.sync-interval:PT5S}")
+    public synchronized void sync() {
+        Instant started = Instant.now();
+        Instant since = lastSync.equals(Instant.EPOCH) ? lastSync : lastSync.minus(SYNC_OVERLAP);
+        long lastId = 0;
+        List<UserSecurityEpoch> changes;
+        do {
+            changes = userRepository.findSecurityEpochsChangedSince(since, lastId, chunkSize);
+            for (UserSecurityEpoch change : changes) {
+                long previous = currentEpoch(change.userId());
+                epochs.merge(change.userId(), change.epoch(), Math::max);
+                if (previous < change.epoch()) {
+                    principalCache.evict(change.email());
+                }
+                lastId = change.userId();
+            }
+        } while (changes.size() == chunkSize);
+        lastSync = started;
+    }
+}
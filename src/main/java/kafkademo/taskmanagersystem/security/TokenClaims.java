@@ -0,0 +1,16 @@
+package kafkademo.taskmanagersystem.security;
+
+import java.time.Instant;
+import java.util.Set;
+
+public record TokenClaims(String id,
+                          String subject,
+                          Long userId,
+                          Instant issuedAt,
+                          Instant expiration,
+                          Set<String> roles,
+                          Long epoch) {
+    public boolean isSelfContained() {
+        return userId != null && epoch != null;
+    }
+}
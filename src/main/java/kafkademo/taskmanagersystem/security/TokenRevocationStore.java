@@ -0,0 +1,117 @@
+package kafkademo.taskmanagersystem.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import kafkademo.taskmanagersystem.entity.RevokedToken;
+import kafkademo.taskmanagersystem.repo.RevokedTokenRepository;
+import kafkademo.taskmanagersystem.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Revocations are stored in revoked_tokens and mirrored in memory, so checking a token that
+ * was never revoked stays a Bloom filter lookup. Each instance loads the table at startup
+ * and then polls it for revocations made elsewhere; the poll re-reads a margin before the
+ * previous one to tolerate clock skew between instances.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Pageable chunk;
+    private volatile BloomFilter bloomFilter;
+    private Instant lastSync = Instant.EPOCH;
+
+    public TokenRevocationStore(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.revocation.expected-revocations:1000000}")
+            long expectedRevocations,
+            @Value("${security.revocation.false-positive-rate:0.001}")
+            double falsePositiveRate,
+            @Value("${security.revocation.load-chunk-size:10000}") int chunkSize,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.chunk = PageRequest.ofSize(chunkSize);
+        this.bloomFilter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        Gauge.builder("security.revocation.tokens", revokedTokens, ConcurrentHashMap::size)
+                .register(meterRegistry);
+        Gauge.builder("security.revocation.filter.bytes", this,
+                store -> store.bloomFilter.sizeInBytes())
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void restore() {
+        sync();
+        log.info("Restored {} revoked tokens", revokedTokens.size());
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return bloomFilter.mightContain(tokenId) && revokedTokens.containsKey(tokenId);
+    }
+
+    public void revoke(TokenClaims claims) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(claims.id());
+        revokedToken.setExpiresAt(claims.expiration());
+        revokedToken.setRevokedAt(Instant.now());
+        revokedTokenRepository.save(revokedToken);
+        remember(claims.id(), claims.expiration().toEpochMilli());
+        log.info("Token revoked for user: {}", claims.subject());
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT10S}")
+    public void sync() {
+        Instant started = Instant.now();
+        Instant since = lastSync.equals(Instant.EPOCH) ? lastSync : lastSync.minus(SYNC_OVERLAP);
+        String lastJti = "";
+        List<RevokedToken> tokens;
+        do {
+            tokens = revokedTokenRepository.findActiveRevokedSince(since, started, lastJti, chunk);
+            for (RevokedToken token : tokens) {
+                remember(token.getJti(), token.getExpiresAt().toEpochMilli());
+                lastJti = token.getJti();
+            }
+        } while (tokens.size() == chunk.getPageSize());
+        lastSync = started;
+    }
+
+    // Only the in-memory prune holds the monitor, so revocations never wait for the DELETE.
+    @Scheduled(fixedDelayString = "${security.revocation.sweep-interval:PT1M}")
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        revokedTokenRepository.deleteExpired(Instant.ofEpochMilli(now));
+        pruneExpired(now);
+    }
+
+    private synchronized void pruneExpired(long now) {
+        if (!revokedTokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(
+                Math.max(expectedRevocations, revokedTokens.size() * 2L), falsePositiveRate);
+        revokedTokens.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+        log.debug("Revocation filter rebuilt with {} tokens", revokedTokens.size());
+    }
+
+    private synchronized void remember(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+        bloomFilter.put(tokenId);
+    }
+}
@@ -0,0 +1,37 @@
+package kafkademo.taskmanagersystem.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import kafkademo.taskmanagersystem.util.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TokenVerdictCache {
+    private final ExpiringCache<String, Boolean> cache;
+
+    public TokenVerdictCache(@Value("${security.token-verdict-cache.max-size:50000}") int maxSize,
+                             @Value("${security.token-verdict-cache.ttl:30s}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        cache = new ExpiringCache<>(maxSize, ttl);
+        cache.registerMetrics(meterRegistry, "security.token.verdict.cache");
+    }
+
+    public Optional<Boolean> get(String tokenHash) {
+        return cache.getIfPresent(tokenHash);
+    }
+
+    public void putValid(String tokenHash, Instant tokenExpiration) {
+        cache.put(tokenHash, true, tokenExpiration.toEpochMilli());
+    }
+
+    public void putInvalid(String tokenHash) {
+        cache.put(tokenHash, false);
+    }
+
+    public void evict(String tokenHash) {
+        cache.invalidate(tokenHash);
+    }
+}
@@ -10,9 +10,18 @@ public interface MessageFormer {
 
     NotificationData formMessageAboutRemovingProjectMember(Project project, User user);
 
+    NotificationData formMessageAboutProjectClone(Project project,
+                                                  User user,
+                                                  long taskCount,
+                                                  long assignedTaskCount);
+
     NotificationData formMessageAboutProjectDeadline(Project project, User user);
 
     NotificationData formMessageAboutTaskAssigning(String projectName, Task task, User user);
 
+    NotificationData formMessageAboutTasksAssigning(String projectName,
+                                                    long taskCount,
+                                                    User user);
+
     NotificationData formMessageAboutTaskDeadline(String projectName, Task task, User user);
 }
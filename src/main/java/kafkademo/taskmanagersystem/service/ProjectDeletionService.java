@@ -0,0 +1,12 @@
+package kafkademo.taskmanagersystem.service;
+
+import java.util.UUID;
+import kafkademo.taskmanagersystem.dto.project.ProjectDeletionJobDto;
+import kafkademo.taskmanagersystem.entity.User;
+
+public interface ProjectDeletionService {
+
+    ProjectDeletionJobDto submit(User user, Long projectId);
+
+    ProjectDeletionJobDto getJob(User user, UUID jobId);
+}
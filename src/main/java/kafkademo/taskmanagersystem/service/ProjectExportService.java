@@ -0,0 +1,8 @@
+package kafkademo.taskmanagersystem.service;
+
+import kafkademo.taskmanagersystem.entity.User;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ProjectExportService {
+    StreamingResponseBody export(User user, Long projectId, boolean gzip);
+}
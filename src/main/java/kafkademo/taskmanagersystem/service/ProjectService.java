@@ -1,9 +1,14 @@
 package kafkademo.taskmanagersystem.service;
 
 import java.util.List;
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.project.CloneProjectDto;
 import kafkademo.taskmanagersystem.dto.project.CreateProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectMembersUpdateDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipChangeDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipDeltaDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectPageDto;
 import kafkademo.taskmanagersystem.dto.project.UpdateProjectDto;
 import kafkademo.taskmanagersystem.entity.Project;
 import kafkademo.taskmanagersystem.entity.User;
@@ -12,17 +17,30 @@ public interface ProjectService {
 
     ProjectDto create(User user, CreateProjectDto createProjectDto);
 
+    ProjectDto cloneProject(User user, Long projectId, CloneProjectDto cloneDto);
+
     List<ProjectDto> getByUser(User user);
 
+    ProjectPageDto getPageByUser(User user, String sortBy, String cursor, int size);
+
     ProjectDto getById(User user, Long id);
 
-    ProjectDto updateById(User user, Long id, UpdateProjectDto updateProjectDto);
+    Long getVersion(User user, Long id);
 
-    void deleteById(User user, Long id);
+    ProjectDto updateById(User user,
+                          Long id,
+                          UpdateProjectDto updateProjectDto,
+                          Set<Long> expectedVersions);
 
     Project getProjectById(User user, Long id);
 
+    boolean isMember(Long projectId, Long userId);
+
     ProjectDto addMembers(User user, Long projectId, ProjectMembersUpdateDto updateDto);
 
     ProjectDto deleteMembers(User user, Long projectId, ProjectMembersUpdateDto updateDto);
+
+    ProjectMembershipDeltaDto updateMembers(User user,
+                                            Long projectId,
+                                            ProjectMembershipChangeDto changeDto);
 }
@@ -0,0 +1,23 @@
+package kafkademo.taskmanagersystem.service;
+
+import java.util.Map;
+import kafkademo.taskmanagersystem.dto.project.ProjectStatsDto;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.ProjectTaskCounter;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.entity.User;
+
+public interface ProjectStatsService {
+
+    ProjectStatsDto getStats(User user, Long projectId);
+
+    void recordCreated(Task task);
+
+    void recordUpdated(Project.Status oldStatus, Task.Priority oldPriority, Task task);
+
+    void recordDeleted(Task task);
+
+    void recordDeltas(Map<ProjectTaskCounter.Key, Long> deltas);
+
+    void rebuild(Long projectId);
+}
@@ -0,0 +1,13 @@
+package kafkademo.taskmanagersystem.service;
+
+import java.time.Instant;
+import java.util.List;
+import kafkademo.taskmanagersystem.dto.task.TaskChangeDto;
+import kafkademo.taskmanagersystem.dto.task.TaskStateDto;
+import kafkademo.taskmanagersystem.entity.User;
+
+public interface TaskHistoryService {
+    List<TaskChangeDto> getChanges(User user, Long taskId, long afterVersion, int size);
+
+    TaskStateDto getStateAt(User user, Long taskId, Instant at);
+}
@@ -1,19 +1,33 @@
 package kafkademo.taskmanagersystem.service;
 
 import java.util.List;
+import java.util.Set;
 import kafkademo.taskmanagersystem.dto.task.CreateTaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchCreateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchResultDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateDto;
 import kafkademo.taskmanagersystem.dto.task.TaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskPageDto;
+import kafkademo.taskmanagersystem.dto.task.TaskSearchDto;
 import kafkademo.taskmanagersystem.dto.task.UpdateTaskDto;
 import kafkademo.taskmanagersystem.entity.User;
 
 public interface TaskService {
     TaskDto create(User user, CreateTaskDto createTaskDto);
 
+    List<TaskBatchResultDto> createBatch(User user, TaskBatchCreateDto batchDto);
+
+    List<TaskBatchResultDto> updateBatch(User user, TaskBatchUpdateDto batchDto);
+
     List<TaskDto> getAllByProjectId(User user, Long projectId);
 
     TaskDto getById(User user, Long id);
 
+    TaskPageDto search(User user, TaskSearchDto searchDto);
+
+    List<TaskDto> searchText(User user, Long projectId, String query, int limit);
+
     void deleteById(User user, Long id);
 
-    TaskDto updateById(User user, Long id, UpdateTaskDto updateTaskDto);
+    TaskDto updateById(User user, Long id, UpdateTaskDto updateTaskDto, Set<Long> expectedVersions);
 }
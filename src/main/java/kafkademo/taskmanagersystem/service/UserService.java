@@ -1,6 +1,7 @@
 package kafkademo.taskmanagersystem.service;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import kafkademo.taskmanagersystem.dto.user.request.RegisterUserRequestDto;
 import kafkademo.taskmanagersystem.dto.user.request.UpdateUserRequestDto;
 import kafkademo.taskmanagersystem.dto.user.request.UpdateUserRoleDto;
@@ -9,7 +10,7 @@ import kafkademo.taskmanagersystem.entity.User;
 
 public interface UserService {
 
-    ResponseUserDto register(RegisterUserRequestDto requestDto);
+    CompletableFuture<ResponseUserDto> register(RegisterUserRequestDto requestDto);
 
     ResponseUserDto updateUserRole(UpdateUserRoleDto updateDto, Long userId);
 
@@ -17,7 +18,7 @@ public interface UserService {
 
     ResponseUserDto getUserProfile(Long userId);
 
-    Set<Long> getAllUserIds();
+    Set<Long> findInvalidUserIds(Set<Long> userIds);
 
     User findUserProfile(Long userId);
 
@@ -39,6 +39,28 @@ public class MessageFormerImpl implements MessageFormer {
         return notificationData;
     }
 
+    @Override
+    public NotificationData formMessageAboutProjectClone(Project project,
+                                                         User user,
+                                                         long taskCount,
+                                                         long assignedTaskCount) {
+        NotificationData notificationData = createAndSetUpRecipient(user);
+        notificationData.setMessageSubject(
+                MessageConstant.PROJECT_ADD_MEMBER_SUBJECT.formatted(project.getName())
+        );
+        notificationData.setMessageText(MessageConstant.PROJECT_CLONE.formatted(
+                project.getName(),
+                project.getName(),
+                project.getDescription(),
+                project.getStartDate(),
+                project.getEndDate(),
+                project.getStatus(),
+                taskCount,
+                assignedTaskCount
+        ));
+        return notificationData;
+    }
+
     @Override
     public NotificationData formMessageAboutProjectDeadline(Project project, User user) {
         NotificationData notificationData = createAndSetUpRecipient(user);
@@ -72,6 +94,19 @@ public class MessageFormerImpl implements MessageFormer {
         return notificationData;
     }
 
+    @Override
+    public NotificationData formMessageAboutTasksAssigning(String projectName,
+                                                           long taskCount,
+                                                           User user) {
+        NotificationData notificationData = createAndSetUpRecipient(user);
+        notificationData.setMessageSubject(MessageConstant.TASKS_ASSIGNING_SUBJECT);
+        notificationData.setMessageText(MessageConstant.TASKS_ASSIGNING.formatted(
+                taskCount,
+                projectName
+        ));
+        return notificationData;
+    }
+
     @Override
     public NotificationData formMessageAboutTaskDeadline(String projectName, Task task, User user) {
         NotificationData notificationData = createAndSetUpRecipient(user);
@@ -0,0 +1,40 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import kafkademo.taskmanagersystem.dto.project.ProjectSortKey;
+import kafkademo.taskmanagersystem.exception.InvalidCursorException;
+import kafkademo.taskmanagersystem.repo.projection.ProjectSummary;
+import kafkademo.taskmanagersystem.validation.EnumValidator;
+
+record ProjectCursor(ProjectSortKey sortKey, LocalDate endDate, long id) {
+    private static final String SEPARATOR = ":";
+
+    static ProjectCursor after(ProjectSortKey sortKey, ProjectSummary last) {
+        return new ProjectCursor(sortKey, last.getEndDate(), last.getId());
+    }
+
+    static ProjectCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR);
+            ProjectSortKey sortKey = EnumValidator.findConstantIfValid(
+                    ProjectSortKey.class, parts[0]).orElseThrow();
+            LocalDate endDate = sortKey == ProjectSortKey.END_DATE
+                    ? LocalDate.parse(parts[1])
+                    : null;
+            return new ProjectCursor(sortKey, endDate, Long.parseLong(parts[parts.length - 1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        String raw = sortKey == ProjectSortKey.END_DATE
+                ? sortKey + SEPARATOR + endDate + SEPARATOR + id
+                : sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
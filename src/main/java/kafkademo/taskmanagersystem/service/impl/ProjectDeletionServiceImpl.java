@@ -0,0 +1,213 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import kafkademo.taskmanagersystem.cache.ProjectMembershipCache;
+import kafkademo.taskmanagersystem.dto.project.ProjectDeletionJobDto;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.exception.AccessForbiddenException;
+import kafkademo.taskmanagersystem.exception.ServiceOverloadedException;
+import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.search.TaskTextIndex;
+import kafkademo.taskmanagersystem.service.ProjectDeletionService;
+import kafkademo.taskmanagersystem.service.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+public class ProjectDeletionServiceImpl implements ProjectDeletionService {
+    private final Map<UUID, DeletionJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, DeletionJob> activeByProject = new ConcurrentHashMap<>();
+    private final ProjectService projectService;
+    private final ProjectRepository projectRepository;
+    private final ProjectMembershipCache membershipCache;
+    private final TaskTextIndex taskTextIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Timer duration;
+    private final int batchSize;
+    private final Duration retention;
+
+    public ProjectDeletionServiceImpl(ProjectService projectService,
+                                      ProjectRepository projectRepository,
+                                      ProjectMembershipCache membershipCache,
+                                      TaskTextIndex taskTextIndex,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${projects.deletion.threads:1}") int threads,
+                                      @Value("${projects.deletion.queue-capacity:100}")
+                                      int queueCapacity,
+                                      @Value("${projects.deletion.batch-size:1000}") int batchSize,
+                                      @Value("${projects.deletion.retention:PT1H}")
+                                      Duration retention) {
+        this.projectService = projectService;
+        this.projectRepository = projectRepository;
+        this.membershipCache = membershipCache;
+        this.taskTextIndex = taskTextIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable,
+                        "project-deletion-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.duration = meterRegistry.timer("projects.deletion.duration");
+        Gauge.builder("projects.deletion.active", activeByProject, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ProjectDeletionJobDto submit(User user, Long projectId) {
+        projectService.getProjectById(user, projectId);
+        DeletionJob job = new DeletionJob(projectId, user.getId());
+        DeletionJob running = activeByProject.putIfAbsent(projectId, job);
+        if (running != null) {
+            running.requesters.add(user.getId());
+            return running.toDto();
+        }
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            activeByProject.remove(projectId);
+            String message = "Too many project deletions in progress, try again later";
+            log.warn(message);
+            throw new ServiceOverloadedException(message);
+        }
+        log.info("Deletion of project {} scheduled as job {}", projectId, job.id);
+        return job.toDto();
+    }
+
+    @Override
+    public ProjectDeletionJobDto getJob(User user, UUID jobId) {
+        DeletionJob job = jobs.get(jobId);
+        if (job == null) {
+            String message = "Can't find project deletion job with id " + jobId;
+            log.error(message);
+            throw new EntityNotFoundException(message);
+        }
+        if (!job.requesters.contains(user.getId())) {
+            String message = "Access to project deletion job with id " + jobId
+                    + " is forbidden.";
+            log.error(message);
+            throw new AccessForbiddenException(message);
+        }
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${projects.deletion.sweep-interval:PT10M}")
+    public void removeFinishedJobs() {
+        Instant threshold = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null
+                && job.finishedAt.isBefore(threshold));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(DeletionJob job) {
+        Long projectId = job.projectId;
+        job.status = DeletionJob.Status.RUNNING;
+        job.startedAt = Instant.now();
+        Timer.Sample sample = Timer.start();
+        try {
+            // Memberships go first so nobody can add tasks while the existing ones are swept.
+            int members;
+            do {
+                members = transactionTemplate.execute(status ->
+                        projectRepository.deleteMembershipBatch(projectId, batchSize));
+                job.membersDeleted.add(members);
+            } while (members == batchSize);
+            membershipCache.evict(projectId);
+            List<Long> taskIds = projectRepository.findTaskIdBatch(projectId, batchSize);
+            while (!taskIds.isEmpty()) {
+                List<Long> batch = taskIds;
+                transactionTemplate.executeWithoutResult(status -> deleteTasks(job, batch));
+                taskIds = projectRepository.findTaskIdBatch(projectId, batchSize);
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                projectRepository.lockProjectRow(projectId);
+                List<Long> remaining = projectRepository.findTaskIdBatch(projectId, batchSize);
+                while (!remaining.isEmpty()) {
+                    deleteTasks(job, remaining);
+                    remaining = projectRepository.findTaskIdBatch(projectId, batchSize);
+                }
+                projectRepository.deleteProjectRow(projectId);
+            });
+            taskTextIndex.removeProject(projectId);
+            job.status = DeletionJob.Status.COMPLETED;
+            log.info("Project {} deleted: {} tasks, {} comments, {} memberships", projectId,
+                    job.tasksDeleted.sum(), job.commentsDeleted.sum(), job.membersDeleted.sum());
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.status = DeletionJob.Status.FAILED;
+            log.error("Deletion of project {} failed", projectId, e);
+        } finally {
+            job.finishedAt = Instant.now();
+            activeByProject.remove(projectId);
+            sample.stop(duration);
+        }
+    }
+
+    private void deleteTasks(DeletionJob job, List<Long> taskIds) {
+        projectRepository.deleteHistoryOfTasks(taskIds);
+        job.commentsDeleted.add(projectRepository.deleteCommentsOfTasks(taskIds));
+        job.tasksDeleted.add(projectRepository.deleteTasks(taskIds));
+    }
+
+    private static final class DeletionJob {
+        private final UUID id = UUID.randomUUID();
+        private final Long projectId;
+        private final Set<Long> requesters = ConcurrentHashMap.newKeySet();
+        private final LongAdder tasksDeleted = new LongAdder();
+        private final LongAdder commentsDeleted = new LongAdder();
+        private final LongAdder membersDeleted = new LongAdder();
+        private volatile Status status = Status.PENDING;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private DeletionJob(Long projectId, Long requesterId) {
+            this.projectId = projectId;
+            requesters.add(requesterId);
+        }
+
+        private ProjectDeletionJobDto toDto() {
+            return new ProjectDeletionJobDto(id, projectId, status.name(),
+                    tasksDeleted.sum(), commentsDeleted.sum(), membersDeleted.sum(),
+                    startedAt, finishedAt, error);
+        }
+
+        private enum Status {
+            PENDING,
+            RUNNING,
+            COMPLETED,
+            FAILED
+        }
+    }
+}
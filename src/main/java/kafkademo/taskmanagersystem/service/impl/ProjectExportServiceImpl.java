@@ -0,0 +1,135 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
+import kafkademo.taskmanagersystem.dto.project.ProjectDto;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.exception.ServiceOverloadedException;
+import kafkademo.taskmanagersystem.service.ProjectExportService;
+import kafkademo.taskmanagersystem.service.ProjectService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@Service
+public class ProjectExportServiceImpl implements ProjectExportService {
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final String TASKS = "SELECT id, version, name, description, priority, "
+            + "status, due_date, user_id FROM tasks WHERE project_id = ? ORDER BY id";
+    private static final String COMMENTS = "SELECT c.id, c.task_id, c.user_id, c.text, "
+            + "c.timestamp FROM comments c JOIN tasks t ON t.id = c.task_id "
+            + "WHERE t.project_id = ? ORDER BY c.task_id, c.id";
+    private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final Semaphore permits;
+
+    public ProjectExportServiceImpl(ProjectService projectService,
+                                    ObjectMapper objectMapper,
+                                    DataSource dataSource,
+                                    @Value("${projects.export.max-concurrent:4}")
+                                    int maxConcurrent) {
+        this.projectService = projectService;
+        // Each export holds a pooled connection for the whole download, so only a few may
+        // run at once or slow clients would starve the pool for every other request.
+        this.permits = new Semaphore(maxConcurrent);
+        this.objectMapper = objectMapper;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        // MySQL Connector/J streams forward-only result sets row by row with this fetch size
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    @Override
+    public StreamingResponseBody export(User user, Long projectId, boolean gzip) {
+        ProjectDto project = projectService.getById(user, projectId);
+        if (!permits.tryAcquire()) {
+            String message = "Too many project exports in progress, try again later";
+            log.warn(message);
+            throw new ServiceOverloadedException(message);
+        }
+        return out -> {
+            try {
+                OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+                LongAdder tasks = new LongAdder();
+                LongAdder comments = new LongAdder();
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    generator.writeStartObject();
+                    generator.writeStringField("type", "project");
+                    generator.writeObjectField("project", project);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    streamingJdbcTemplate.query(TASKS, rs -> {
+                        writeTask(generator, rs);
+                        tasks.increment();
+                    }, projectId);
+                    streamingJdbcTemplate.query(COMMENTS, rs -> {
+                        writeComment(generator, rs);
+                        comments.increment();
+                    }, projectId);
+                }
+                if (target instanceof GZIPOutputStream gzipOutputStream) {
+                    gzipOutputStream.finish();
+                }
+                log.info("Project {} exported with {} tasks and {} comments",
+                        projectId, tasks.sum(), comments.sum());
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private void writeTask(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "task");
+            generator.writeObjectFieldStart("task");
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("version", rs.getLong("version"));
+            generator.writeStringField("name", rs.getString("name"));
+            generator.writeStringField("description", rs.getString("description"));
+            generator.writeStringField("priority", rs.getString("priority"));
+            generator.writeStringField("status", rs.getString("status"));
+            generator.writeObjectField("dueDate", rs.getObject("due_date", LocalDate.class));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeComment(JsonGenerator generator, ResultSet rs) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", "comment");
+            generator.writeObjectFieldStart("comment");
+            generator.writeNumberField("id", rs.getLong("id"));
+            generator.writeNumberField("taskId", rs.getLong("task_id"));
+            generator.writeNumberField("userId", rs.getLong("user_id"));
+            generator.writeStringField("text", rs.getString("text"));
+            generator.writeObjectField("timestamp",
+                    rs.getObject("timestamp", LocalDateTime.class));
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,58 +1,72 @@
 package kafkademo.taskmanagersystem.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import kafkademo.taskmanagersystem.cache.ProjectMembershipCache;
+import kafkademo.taskmanagersystem.dto.project.CloneProjectDto;
 import kafkademo.taskmanagersystem.dto.project.CreateProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectDto;
 import kafkademo.taskmanagersystem.dto.project.ProjectMembersUpdateDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipChangeDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectMembershipDeltaDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectPageDto;
+import kafkademo.taskmanagersystem.dto.project.ProjectSortKey;
 import kafkademo.taskmanagersystem.dto.project.UpdateProjectDto;
 import kafkademo.taskmanagersystem.entity.Project;
 import kafkademo.taskmanagersystem.entity.User;
 import kafkademo.taskmanagersystem.exception.InvalidConstantException;
 import kafkademo.taskmanagersystem.exception.InvalidUserIdsException;
+import kafkademo.taskmanagersystem.exception.PreconditionFailedException;
 import kafkademo.taskmanagersystem.exception.UserNotInProjectException;
 import kafkademo.taskmanagersystem.kafka.KafkaProducer;
 import kafkademo.taskmanagersystem.mapper.ProjectMapper;
 import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.repo.TaskRepository;
+import kafkademo.taskmanagersystem.repo.projection.AssigneeTaskCount;
+import kafkademo.taskmanagersystem.repo.projection.ProjectMemberId;
+import kafkademo.taskmanagersystem.repo.projection.ProjectSummary;
+import kafkademo.taskmanagersystem.scheduler.TaskReminderScheduler;
+import kafkademo.taskmanagersystem.search.TaskTextIndex;
 import kafkademo.taskmanagersystem.service.MessageFormer;
 import kafkademo.taskmanagersystem.service.ProjectService;
 import kafkademo.taskmanagersystem.service.UserService;
 import kafkademo.taskmanagersystem.validation.EnumValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProjectServiceImpl implements ProjectService {
-    private static final String SCHEDULE = "0 0 9,17 * * *";
+    private static final int MAX_PAGE_SIZE = 200;
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
     private final UserService userService;
     private final MessageFormer messageFormer;
     private final KafkaProducer kafkaProducer;
+    private final ProjectMembershipCache membershipCache;
+    private final TaskRepository taskRepository;
+    private final TaskReminderScheduler taskReminderScheduler;
+    private final TaskTextIndex taskTextIndex;
 
     @Override
     public ProjectDto create(User user, CreateProjectDto createProjectDto) {
-        Set<Long> invalidUserIds = getInvalidUserIds(createProjectDto.getUserIds());
-        if (!invalidUserIds.isEmpty()) {
-            String message = "Invalid user ids: " + invalidUserIds;
-            log.error(message);
-            throw new InvalidUserIdsException(message);
-        }
+        validateUserIds(createProjectDto.getUserIds());
         Project project = projectMapper.toModel(createProjectDto);
         project.setStatus(Project.Status.INITIATED);
-        Set<User> usersInProject = userService.findAllByIdIn(createProjectDto.getUserIds());
-        if (!createProjectDto.getUserIds().contains(user.getId())) {
-            usersInProject.add(user);
-        }
+        // The creator is loaded too: a principal built from token claims has no chat id.
+        Set<Long> memberIds = new HashSet<>(createProjectDto.getUserIds());
+        memberIds.add(user.getId());
+        Set<User> usersInProject = userService.findAllByIdIn(memberIds);
         project.setUsers(usersInProject);
         usersInProject.stream()
                 .map(member -> messageFormer.formMessageAboutAddingProjectMember(project, member))
@@ -61,21 +75,85 @@ public class ProjectServiceImpl implements ProjectService {
         return projectMapper.toDto(projectRepository.save(project));
     }
 
+    @Override
+    @Transactional
+    public ProjectDto cloneProject(User user, Long projectId, CloneProjectDto cloneDto) {
+        Project source = getProjectById(user, projectId);
+        Project project = new Project();
+        project.setName(cloneDto.getName());
+        project.setDescription(cloneDto.getDescription() != null
+                ? cloneDto.getDescription()
+                : source.getDescription());
+        project.setStartDate(cloneDto.getStartDate());
+        project.setEndDate(cloneDto.getEndDate());
+        project.setStatus(Project.Status.INITIATED);
+        projectRepository.save(project);
+        long shiftDays = ChronoUnit.DAYS.between(source.getStartDate(), cloneDto.getStartDate());
+        int members = projectRepository.copyMembers(projectId, project.getId());
+        int tasks = projectRepository.copyTasks(projectId, project.getId(), shiftDays);
+        projectRepository.initTaskCounters(project.getId());
+        projectRepository.snapshotTasks(project.getId());
+        taskReminderScheduler.scheduleProject(project.getId());
+        taskTextIndex.loadProject(project.getId());
+        notifyClonedMembers(project, tasks);
+        log.info("Project {} cloned from {} with {} members and {} tasks",
+                project.getId(), projectId, members, tasks);
+        return getSummaryById(project.getId());
+    }
+
     @Override
     public List<ProjectDto> getByUser(User user) {
-        return projectRepository.findAllByUserId(user.getId()).stream()
-                .map(projectMapper::toDto)
-                .toList();
+        return toDtos(projectRepository.findSummariesById(user.getId(), 0, Pageable.unpaged()));
+    }
+
+    @Override
+    public ProjectPageDto getPageByUser(User user, String sortBy, String cursor, int size) {
+        ProjectCursor after = cursor != null ? ProjectCursor.decode(cursor) : null;
+        ProjectSortKey sortKey = after != null ? after.sortKey() : getSortKeyIfValid(sortBy);
+        Pageable limit = PageRequest.ofSize(Math.clamp(size, 1, MAX_PAGE_SIZE));
+        List<ProjectSummary> summaries = switch (sortKey) {
+            case ID -> projectRepository.findSummariesById(
+                    user.getId(), after != null ? after.id() : 0, limit);
+            case END_DATE -> after != null
+                    ? projectRepository.findSummariesByEndDate(
+                            user.getId(), after.endDate(), after.id(), limit)
+                    : projectRepository.findSummariesByEndDate(user.getId(), limit);
+        };
+        String nextCursor = summaries.size() < limit.getPageSize()
+                ? null
+                : ProjectCursor.after(sortKey, summaries.get(summaries.size() - 1)).encode();
+        return new ProjectPageDto(toDtos(summaries), nextCursor);
     }
 
     @Override
     public ProjectDto getById(User user, Long id) {
-        return projectMapper.toDto(getProjectById(user, id));
+        getProjectById(user, id);
+        return getSummaryById(id);
+    }
+
+    @Override
+    public Long getVersion(User user, Long id) {
+        Long version = projectRepository.findVersionById(id).orElseThrow(() -> {
+            String message = "Can't find project with id " + id;
+            log.error(message);
+            return new EntityNotFoundException(message);
+        });
+        checkMembership(user, id);
+        return version;
     }
 
     @Override
-    public ProjectDto updateById(User user, Long id, UpdateProjectDto updateProjectDto) {
+    public ProjectDto updateById(User user,
+                                 Long id,
+                                 UpdateProjectDto updateProjectDto,
+                                 Set<Long> expectedVersions) {
         Project project = getProjectById(user, id);
+        if (expectedVersions != null && !expectedVersions.contains(project.getVersion())) {
+            String message = "Project with id " + id + " was modified, current version is "
+                    + project.getVersion();
+            log.error(message);
+            throw new PreconditionFailedException(message);
+        }
         project.setName(updateProjectDto.getName());
         project.setDescription(updateProjectDto.getDescription());
         project.setStartDate(updateProjectDto.getStartDate());
@@ -86,11 +164,6 @@ public class ProjectServiceImpl implements ProjectService {
         return projectMapper.toDto(projectRepository.save(project));
     }
 
-    @Override
-    public void deleteById(User user, Long id) {
-        projectRepository.delete(getProjectById(user, id));
-    }
-
     @Override
     public Project getProjectById(User user, Long id) {
         Project project = projectRepository.findById(id).orElseThrow(() -> {
@@ -98,53 +171,113 @@ public class ProjectServiceImpl implements ProjectService {
             log.error(message);
             return new EntityNotFoundException(message);
         });
-        isUserInProject(user, project);
+        checkMembership(user, project.getId());
         return project;
     }
 
+    @Override
+    public boolean isMember(Long projectId, Long userId) {
+        return membershipCache.isMember(projectId, userId);
+    }
+
     @Override
     public ProjectDto addMembers(User user, Long projectId, ProjectMembersUpdateDto updateDto) {
-        log.info("Adding members to project with id: {}. Member IDs: {}",
-                projectId, updateDto.getMemberIds());
-        Project project = getProjectById(user, projectId);
-        Set<Long> invalidUserIds = getInvalidUserIds(updateDto.getMemberIds());
-        if (!invalidUserIds.isEmpty()) {
-            String message = "Invalid user ids: " + invalidUserIds;
-            log.error(message);
-            throw new InvalidUserIdsException(message);
-        }
-        Set<User> usersForAdding = userService.findAllByIdIn(updateDto.getMemberIds());
-        usersForAdding.removeAll(project.getUsers());
-        usersForAdding.stream()
-                .map(member -> messageFormer.formMessageAboutAddingProjectMember(project, member))
-                .forEach(kafkaProducer::sendNotificationData);
-        project.getUsers().addAll(usersForAdding);
-        log.info("Members added to project: {}. Updated user list: {}",
-                projectId, project.getUsers());
-        return projectMapper.toDto(projectRepository.save(project));
+        ProjectMembershipChangeDto changeDto = new ProjectMembershipChangeDto();
+        changeDto.setAdd(updateDto.getMemberIds());
+        updateMembers(user, projectId, changeDto);
+        return getSummaryById(projectId);
     }
 
     @Override
     public ProjectDto deleteMembers(User user, Long projectId, ProjectMembersUpdateDto updateDto) {
-        log.info("Deleting members from project with id: {}. Member IDs: {}",
-                projectId, updateDto.getMemberIds());
+        ProjectMembershipChangeDto changeDto = new ProjectMembershipChangeDto();
+        changeDto.setRemove(updateDto.getMemberIds());
+        updateMembers(user, projectId, changeDto);
+        return getSummaryById(projectId);
+    }
+
+    @Override
+    public ProjectMembershipDeltaDto updateMembers(User user,
+                                                   Long projectId,
+                                                   ProjectMembershipChangeDto changeDto) {
+        log.info("Updating members of project with id: {}. Adding: {}, removing: {}",
+                projectId, changeDto.getAdd(), changeDto.getRemove());
         Project project = getProjectById(user, projectId);
-        Set<Long> invalidUserIds = getInvalidUserIds(updateDto.getMemberIds());
-        if (!invalidUserIds.isEmpty()) {
-            String message = "Invalid user ids: " + invalidUserIds;
-            log.error(message);
-            throw new InvalidUserIdsException(message);
+        Set<Long> requestedIds = new HashSet<>(changeDto.getAdd());
+        requestedIds.addAll(changeDto.getRemove());
+        validateUserIds(requestedIds);
+        Set<Long> toRemove = new HashSet<>(changeDto.getRemove());
+        toRemove.remove(user.getId());
+        ProjectMembershipDeltaDto delta =
+                projectRepository.updateMembers(projectId, changeDto.getAdd(), toRemove);
+        membershipCache.evict(projectId);
+        notifyChangedMembers(project, delta);
+        log.info("Members of project {} updated. Added: {}, removed: {}",
+                projectId, delta.added(), delta.removed());
+        return delta;
+    }
+
+    private void notifyChangedMembers(Project project, ProjectMembershipDeltaDto delta) {
+        Set<Long> changedIds = new HashSet<>(delta.added());
+        changedIds.addAll(delta.removed());
+        if (changedIds.isEmpty()) {
+            return;
         }
-        Set<User> usersForRemoving = userService.findAllByIdIn(updateDto.getMemberIds());
-        usersForRemoving.remove(user);
-        usersForRemoving.stream().map(member ->
-                messageFormer.formMessageAboutRemovingProjectMember(project, member))
-                        .forEach(kafkaProducer::sendNotificationData);
-        project.getUsers().removeAll(usersForRemoving);
-        log.info("Members removed from project: {}. Updated user list: {}",
-                projectId, project.getUsers());
+        userService.findAllByIdIn(changedIds).stream()
+                .map(member -> delta.added().contains(member.getId())
+                        ? messageFormer.formMessageAboutAddingProjectMember(project, member)
+                        : messageFormer.formMessageAboutRemovingProjectMember(project, member))
+                .forEach(kafkaProducer::sendNotificationData);
+    }
 
-        return projectMapper.toDto(projectRepository.save(project));
+    private void notifyClonedMembers(Project project, int taskCount) {
+        Set<Long> memberIds = projectRepository.findMemberIdsByProjectIds(
+                        List.of(project.getId())).stream()
+                .map(ProjectMemberId::getUserId)
+                .collect(Collectors.toSet());
+        Map<Long, Long> assigned = taskRepository.countTasksByAssignee(project.getId()).stream()
+                .collect(Collectors.toMap(AssigneeTaskCount::getUserId,
+                        AssigneeTaskCount::getTaskCount));
+        userService.findAllByIdIn(memberIds).stream()
+                .map(member -> messageFormer.formMessageAboutProjectClone(project, member,
+                        taskCount, assigned.getOrDefault(member.getId(), 0L)))
+                .forEach(kafkaProducer::sendNotificationData);
+    }
+
+    private ProjectDto getSummaryById(Long projectId) {
+        return projectRepository.findSummaryById(projectId)
+                .map(summary -> toDtos(List.of(summary)).get(0))
+                .orElseThrow(() -> {
+                    String message = "Can't find project with id " + projectId;
+                    log.error(message);
+                    return new EntityNotFoundException(message);
+                });
+    }
+
+    private List<ProjectDto> toDtos(List<ProjectSummary> summaries) {
+        if (summaries.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Set<Long>> memberIds = projectRepository.findMemberIdsByProjectIds(
+                        summaries.stream().map(ProjectSummary::getId).toList()).stream()
+                .collect(Collectors.groupingBy(ProjectMemberId::getProjectId,
+                        Collectors.mapping(ProjectMemberId::getUserId, Collectors.toSet())));
+        return summaries.stream()
+                .map(summary -> {
+                    ProjectDto projectDto = projectMapper.toDto(summary);
+                    projectDto.setUserIds(memberIds.getOrDefault(summary.getId(), Set.of()));
+                    return projectDto;
+                })
+                .toList();
+    }
+
+    private ProjectSortKey getSortKeyIfValid(String sortBy) {
+        return EnumValidator.findConstantIfValid(ProjectSortKey.class, sortBy)
+                .orElseThrow(() -> {
+                    String message = "Sort key " + sortBy + " doesn't exist";
+                    log.error(message);
+                    return new InvalidConstantException(message);
+                });
     }
 
     private Project.Status getStatusIfValid(String requestStatus) {
@@ -157,36 +290,20 @@ public class ProjectServiceImpl implements ProjectService {
                 });
     }
 
-    private void isUserInProject(User user, Project project) {
-        if (project.getUsers().stream().noneMatch(u -> u.getId().equals(user.getId()))) {
-            String message = "Access to project with id " + project.getId() + " is forbidden.";
+    private void checkMembership(User user, Long projectId) {
+        if (!isMember(projectId, user.getId())) {
+            String message = "Access to project with id " + projectId + " is forbidden.";
             log.error(message);
             throw new UserNotInProjectException(message);
         }
     }
 
-    private Set<Long> getInvalidUserIds(Set<Long> userIds) {
-        Set<Long> allUserIds = userService.getAllUserIds();
-        Set<Long> invalidUserIds = new HashSet<>();
-        userIds.forEach(id -> {
-            if (!allUserIds.contains(id)) {
-                invalidUserIds.add(id);
-            }
-        });
-        return invalidUserIds;
-    }
-
-    @Scheduled(cron = SCHEDULE)
-    private void getAndNotifyOverdueProjects() {
-        LocalDate today = LocalDate.now();
-        List<Project> projects =
-                projectRepository.findProjectsWithDueDateTodayAndNotCompleted(today);
-        Map<Project, Set<User>> map = projects.stream().collect(Collectors.toMap(
-                project -> project,
-                Project::getUsers
-        ));
-        map.forEach((project, users) -> users.stream().map(user ->
-                messageFormer.formMessageAboutProjectDeadline(project, user))
-                .forEach(kafkaProducer::sendNotificationData));
+    private void validateUserIds(Set<Long> userIds) {
+        Set<Long> invalidUserIds = userService.findInvalidUserIds(userIds);
+        if (!invalidUserIds.isEmpty()) {
+            String message = "Invalid user ids: " + invalidUserIds;
+            log.error(message);
+            throw new InvalidUserIdsException(message);
+        }
     }
 }
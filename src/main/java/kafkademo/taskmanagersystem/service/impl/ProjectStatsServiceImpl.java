@@ -0,0 +1,152 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import kafkademo.taskmanagersystem.dto.project.ProjectStatsDto;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.ProjectTaskCounter;
+import kafkademo.taskmanagersystem.entity.Task;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.repo.ProjectRepository;
+import kafkademo.taskmanagersystem.repo.ProjectTaskCounterRepository;
+import kafkademo.taskmanagersystem.service.ProjectService;
+import kafkademo.taskmanagersystem.service.ProjectStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectStatsServiceImpl implements ProjectStatsService {
+    private static final int REBUILD_CHUNK_SIZE = 500;
+    private static final Comparator<ProjectTaskCounter.Key> LOCK_ORDER = Comparator
+            .comparing(ProjectTaskCounter.Key::getProjectId)
+            .thenComparing(ProjectTaskCounter.Key::getStatus)
+            .thenComparing(ProjectTaskCounter.Key::getPriority);
+    private final ProjectTaskCounterRepository counterRepository;
+    private final ProjectRepository projectRepository;
+    private final ProjectService projectService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public ProjectStatsDto getStats(User user, Long projectId) {
+        projectService.getProjectById(user, projectId);
+        Map<String, Long> byStatus = zeroCounts(Project.Status.values());
+        Map<String, Long> byPriority = zeroCounts(Task.Priority.values());
+        long total = 0;
+        for (ProjectTaskCounter counter : counterRepository.findAllByProjectId(projectId)) {
+            byStatus.merge(counter.getStatus().name(), counter.getTaskCount(), Long::sum);
+            byPriority.merge(counter.getPriority().name(), counter.getTaskCount(), Long::sum);
+            total += counter.getTaskCount();
+        }
+        ProjectStatsDto statsDto = new ProjectStatsDto();
+        statsDto.setProjectId(projectId);
+        statsDto.setTotalTasks(total);
+        statsDto.setTasksByStatus(byStatus);
+        statsDto.setTasksByPriority(byPriority);
+        statsDto.setOverdueTasks(counterRepository.countOverdueTasks(projectId, LocalDate.now()));
+        return statsDto;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Task task) {
+        increment(task.getProject().getId(), task.getStatus(), task.getPriority(), 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordUpdated(Project.Status oldStatus, Task.Priority oldPriority, Task task) {
+        if (oldStatus == task.getStatus() && oldPriority == task.getPriority()) {
+            return;
+        }
+        Long projectId = task.getProject().getId();
+        Map<ProjectTaskCounter.Key, Long> deltas = new HashMap<>();
+        deltas.merge(new ProjectTaskCounter.Key(projectId, oldStatus, oldPriority), -1L, Long::sum);
+        deltas.merge(new ProjectTaskCounter.Key(projectId, task.getStatus(), task.getPriority()),
+                1L, Long::sum);
+        applyDeltas(deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Task task) {
+        increment(task.getProject().getId(), task.getStatus(), task.getPriority(), -1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeltas(Map<ProjectTaskCounter.Key, Long> deltas) {
+        applyDeltas(deltas);
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(Long projectId) {
+        // Deleting first locks the project's counter rows, so task writes racing the
+        // rebuild either are visible to the aggregate below or apply after it commits.
+        counterRepository.deleteAllByProjectId(projectId);
+        List<ProjectTaskCounter> counters = counterRepository.countTasksByProjectId(projectId)
+                .stream()
+                .map(count -> {
+                    ProjectTaskCounter counter = new ProjectTaskCounter();
+                    counter.setProjectId(projectId);
+                    counter.setStatus(count.getStatus());
+                    counter.setPriority(count.getPriority());
+                    counter.setTaskCount(count.getTaskCount());
+                    return counter;
+                })
+                .toList();
+        counterRepository.saveAll(counters);
+    }
+
+    @Scheduled(cron = "${project.stats.rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long lastId = 0;
+        int rebuilt = 0;
+        List<Long> projectIds;
+        do {
+            projectIds = projectRepository.findIdsAfter(lastId,
+                    PageRequest.ofSize(REBUILD_CHUNK_SIZE));
+            for (Long projectId : projectIds) {
+                transactionTemplate.executeWithoutResult(status -> rebuild(projectId));
+                lastId = projectId;
+                rebuilt++;
+            }
+        } while (projectIds.size() == REBUILD_CHUNK_SIZE);
+        log.info("Rebuilt task counters for {} projects", rebuilt);
+    }
+
+    // Every writer upserts rows in the same key order, so two transactions moving tasks in
+    // opposite directions queue on the first shared row instead of deadlocking.
+    private void applyDeltas(Map<ProjectTaskCounter.Key, Long> deltas) {
+        deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey(LOCK_ORDER))
+                .forEach(entry -> increment(entry.getKey().getProjectId(),
+                        entry.getKey().getStatus(), entry.getKey().getPriority(),
+                        entry.getValue()));
+    }
+
+    private void increment(Long projectId, Project.Status status,
+                           Task.Priority priority, long delta) {
+        counterRepository.increment(projectId, status.name(), priority.name(), delta);
+    }
+
+    private Map<String, Long> zeroCounts(Enum<?>[] constants) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        Arrays.stream(constants).forEach(constant -> counts.put(constant.name(), 0L));
+        return counts;
+    }
+}
@@ -0,0 +1,40 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import kafkademo.taskmanagersystem.dto.task.TaskSortKey;
+import kafkademo.taskmanagersystem.dto.task.TaskSummaryDto;
+import kafkademo.taskmanagersystem.exception.InvalidCursorException;
+import kafkademo.taskmanagersystem.validation.EnumValidator;
+
+record TaskCursor(TaskSortKey sortKey, LocalDate dueDate, long id) {
+    private static final String SEPARATOR = ":";
+
+    static TaskCursor after(TaskSortKey sortKey, TaskSummaryDto last) {
+        return new TaskCursor(sortKey, last.dueDate(), last.id());
+    }
+
+    static TaskCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor),
+                    StandardCharsets.UTF_8).split(SEPARATOR);
+            TaskSortKey sortKey = EnumValidator.findConstantIfValid(
+                    TaskSortKey.class, parts[0]).orElseThrow();
+            LocalDate dueDate = sortKey == TaskSortKey.DUE_DATE
+                    ? LocalDate.parse(parts[1])
+                    : null;
+            return new TaskCursor(sortKey, dueDate, Long.parseLong(parts[parts.length - 1]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    String encode() {
+        String raw = sortKey == TaskSortKey.DUE_DATE
+                ? sortKey + SEPARATOR + dueDate + SEPARATOR + id
+                : sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
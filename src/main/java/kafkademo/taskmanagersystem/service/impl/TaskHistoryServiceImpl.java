@@ -0,0 +1,57 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Instant;
+import java.util.List;
+import kafkademo.taskmanagersystem.dto.task.TaskChangeDto;
+import kafkademo.taskmanagersystem.dto.task.TaskStateDto;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.history.TaskChange;
+import kafkademo.taskmanagersystem.history.TaskChangeCodec;
+import kafkademo.taskmanagersystem.history.TaskSnapshot;
+import kafkademo.taskmanagersystem.history.TaskState;
+import kafkademo.taskmanagersystem.repo.TaskRepository;
+import kafkademo.taskmanagersystem.service.TaskHistoryService;
+import kafkademo.taskmanagersystem.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryServiceImpl implements TaskHistoryService {
+    private static final int MAX_PAGE_SIZE = 200;
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+
+    @Override
+    public List<TaskChangeDto> getChanges(User user, Long taskId, long afterVersion, int size) {
+        taskService.getById(user, taskId);
+        return taskRepository.findChanges(taskId, afterVersion,
+                        Math.clamp(size, 1, MAX_PAGE_SIZE)).stream()
+                .map(change -> new TaskChangeDto(change.version(), change.changedAt(),
+                        change.changedBy(), TaskChangeCodec.decode(change.payload())))
+                .toList();
+    }
+
+    @Override
+    public TaskStateDto getStateAt(User user, Long taskId, Instant at) {
+        taskService.getById(user, taskId);
+        TaskSnapshot snapshot = taskRepository.findSnapshotAt(taskId, at).orElseThrow(() -> {
+            String message = "Task with id " + taskId + " has no history at " + at;
+            log.error(message);
+            return new EntityNotFoundException(message);
+        });
+        TaskState state = snapshot.state();
+        long version = snapshot.version();
+        for (TaskChange change : taskRepository.findChangesUntil(taskId, version, at)) {
+            state = TaskChangeCodec.apply(state, change.payload());
+            version = change.version();
+        }
+        return new TaskStateDto(taskId, version, at, state.name(), state.description(),
+                state.priority() != null ? state.priority().name() : null,
+                state.status() != null ? state.status().name() : null,
+                state.dueDate());
+    }
+}
@@ -1,52 +1,91 @@
 package kafkademo.taskmanagersystem.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.time.LocalDate;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import kafkademo.taskmanagersystem.dto.task.CreateTaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchCreateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchCreateItemDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchResultDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateItemDto;
 import kafkademo.taskmanagersystem.dto.task.TaskDto;
+import kafkademo.taskmanagersystem.dto.task.TaskPageDto;
+import kafkademo.taskmanagersystem.dto.task.TaskSearchDto;
+import kafkademo.taskmanagersystem.dto.task.TaskSortKey;
+import kafkademo.taskmanagersystem.dto.task.TaskSummaryDto;
 import kafkademo.taskmanagersystem.dto.task.UpdateTaskDto;
 import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.ProjectTaskCounter;
 import kafkademo.taskmanagersystem.entity.Task;
 import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.exception.AccessForbiddenException;
 import kafkademo.taskmanagersystem.exception.InvalidConstantException;
+import kafkademo.taskmanagersystem.exception.PreconditionFailedException;
+import kafkademo.taskmanagersystem.exception.ServiceUnavailableException;
 import kafkademo.taskmanagersystem.exception.UserNotInProjectException;
+import kafkademo.taskmanagersystem.history.TaskHistoryRecorder;
+import kafkademo.taskmanagersystem.history.TaskState;
 import kafkademo.taskmanagersystem.kafka.KafkaProducer;
 import kafkademo.taskmanagersystem.mapper.TaskMapper;
 import kafkademo.taskmanagersystem.repo.TaskRepository;
+import kafkademo.taskmanagersystem.repo.TaskSearchCriteria;
+import kafkademo.taskmanagersystem.repo.projection.TaskAccess;
+import kafkademo.taskmanagersystem.scheduler.TaskReminderScheduler;
+import kafkademo.taskmanagersystem.search.TaskTextHit;
+import kafkademo.taskmanagersystem.search.TaskTextIndex;
 import kafkademo.taskmanagersystem.service.MessageFormer;
 import kafkademo.taskmanagersystem.service.ProjectService;
+import kafkademo.taskmanagersystem.service.ProjectStatsService;
 import kafkademo.taskmanagersystem.service.TaskService;
 import kafkademo.taskmanagersystem.service.UserService;
 import kafkademo.taskmanagersystem.validation.EnumValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TaskServiceImpl implements TaskService {
-    private static final String SCHEDULE = "0 0 9,17 * * *";
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_TEXT_HITS = 100;
+    private static final String BATCH_CREATED = "CREATED";
+    private static final String BATCH_UPDATED = "UPDATED";
+    private static final String BATCH_FAILED = "FAILED";
     private final TaskRepository taskRepository;
     private final UserService userService;
     private final ProjectService projectService;
     private final TaskMapper taskMapper;
     private final MessageFormer messageFormer;
     private final KafkaProducer kafkaProducer;
+    private final ProjectStatsService projectStatsService;
+    private final TaskReminderScheduler reminderScheduler;
+    private final TaskTextIndex taskTextIndex;
+    private final TaskHistoryRecorder historyRecorder;
+    private final Validator validator;
 
     @Override
+    @Transactional
     public TaskDto create(User user, CreateTaskDto createTaskDto) {
         log.info("Creating task with details: {}", createTaskDto);
         Project project = projectService.getProjectById(user, createTaskDto.getProjectId());
         User assignee = userService.findUserProfile(createTaskDto.getUserId());
-        project.getUsers().stream()
-                .filter(u -> u.equals(assignee))
-                .findAny().orElseThrow(() -> {
-                    String message = "User with id " + assignee.getId() + " not in project";
-                    return new UserNotInProjectException(message);
-                });
+        if (!projectService.isMember(project.getId(), assignee.getId())) {
+            String message = "User with id " + assignee.getId() + " not in project";
+            throw new UserNotInProjectException(message);
+        }
         Task task = taskMapper.toModel(createTaskDto);
         task.setStatus(Project.Status.INITIATED);
         Task.Priority priority = getPriorityIfValid(createTaskDto.getPriority());
@@ -56,8 +95,140 @@ public class TaskServiceImpl implements TaskService {
         kafkaProducer.sendNotificationData(
                 messageFormer.formMessageAboutTaskAssigning(project.getName(), task, assignee)
         );
-        log.info("Task was created successfully with id: {}", task.getId());
-        return taskMapper.toDto(taskRepository.save(task));
+        Task savedTask = taskRepository.save(task);
+        projectStatsService.recordCreated(savedTask);
+        reminderScheduler.reschedule(savedTask);
+        taskTextIndex.index(savedTask);
+        historyRecorder.recordCreated(savedTask, user.getId());
+        log.info("Task was created successfully with id: {}", savedTask.getId());
+        return taskMapper.toDto(savedTask);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResultDto> createBatch(User user, TaskBatchCreateDto batchDto) {
+        Project project = projectService.getProjectById(user, batchDto.getProjectId());
+        List<TaskBatchCreateItemDto> items = batchDto.getTasks();
+        log.info("Creating {} tasks in project {}", items.size(), project.getId());
+        Set<Long> memberIds = items.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBatchCreateItemDto::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .filter(userId -> projectService.isMember(project.getId(), userId))
+                .collect(Collectors.toSet());
+        Map<Long, User> assignees = userService.findAllByIdIn(memberIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        TaskBatchResultDto[] results = new TaskBatchResultDto[items.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchCreateItemDto item = items.get(i);
+            String error = findViolation(item);
+            if (error == null) {
+                error = checkBatchItem(item, assignees);
+            }
+            if (error != null) {
+                results[i] = new TaskBatchResultDto(i, null, null, BATCH_FAILED, error);
+                continue;
+            }
+            Task task = new Task();
+            task.setName(item.getName());
+            task.setDescription(item.getDescription());
+            task.setDueDate(item.getDueDate());
+            task.setPriority(Task.Priority.valueOf(item.getPriority()));
+            task.setStatus(Project.Status.INITIATED);
+            task.setProject(project);
+            task.setUser(assignees.get(item.getUserId()));
+            tasks.add(task);
+            positions.add(i);
+        }
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        taskRepository.flush();
+        Map<ProjectTaskCounter.Key, Long> deltas = new HashMap<>();
+        Map<Long, Long> assignedCounts = new HashMap<>();
+        for (int j = 0; j < savedTasks.size(); j++) {
+            Task task = savedTasks.get(j);
+            int index = positions.get(j);
+            results[index] = new TaskBatchResultDto(
+                    index, task.getId(), task.getVersion(), BATCH_CREATED, null);
+            deltas.merge(counterKey(task), 1L, Long::sum);
+            assignedCounts.merge(task.getUser().getId(), 1L, Long::sum);
+            taskTextIndex.index(task);
+        }
+        historyRecorder.recordCreated(savedTasks, user.getId());
+        projectStatsService.recordDeltas(deltas);
+        if (!savedTasks.isEmpty()) {
+            reminderScheduler.scheduleProject(project.getId());
+        }
+        assignedCounts.forEach((userId, count) -> kafkaProducer.sendNotificationData(
+                messageFormer.formMessageAboutTasksAssigning(
+                        project.getName(), count, assignees.get(userId))));
+        log.info("Created {} of {} tasks in project {}",
+                savedTasks.size(), items.size(), project.getId());
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    public List<TaskBatchResultDto> updateBatch(User user, TaskBatchUpdateDto batchDto) {
+        Project project = projectService.getProjectById(user, batchDto.getProjectId());
+        List<TaskBatchUpdateItemDto> items = batchDto.getTasks();
+        log.info("Updating {} tasks in project {}", items.size(), project.getId());
+        Set<Long> ids = items.stream()
+                .filter(Objects::nonNull)
+                .map(TaskBatchUpdateItemDto::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllByProjectIdAndIdIn(
+                        project.getId(), ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        TaskBatchResultDto[] results = new TaskBatchResultDto[items.size()];
+        List<Integer> positions = new ArrayList<>();
+        List<Task> updatedTasks = new ArrayList<>();
+        List<TaskState> previousStates = new ArrayList<>();
+        Map<ProjectTaskCounter.Key, Long> deltas = new HashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            TaskBatchUpdateItemDto item = items.get(i);
+            String error = findViolation(item);
+            Task task = error == null ? tasks.get(item.getId()) : null;
+            if (error == null && !seenIds.add(item.getId())) {
+                error = "Task with id " + item.getId() + " occurs in the batch more than once";
+            }
+            if (error == null) {
+                error = checkBatchItem(item, task, project.getId());
+            }
+            if (error != null) {
+                Long taskId = item != null ? item.getId() : null;
+                results[i] = new TaskBatchResultDto(i, taskId, null, BATCH_FAILED, error);
+                continue;
+            }
+            previousStates.add(TaskState.of(task));
+            deltas.merge(counterKey(task), -1L, Long::sum);
+            task.setName(item.getName());
+            task.setDescription(item.getDescription());
+            task.setDueDate(item.getDueDate());
+            task.setStatus(Project.Status.valueOf(item.getStatus()));
+            task.setPriority(Task.Priority.valueOf(item.getPriority()));
+            deltas.merge(counterKey(task), 1L, Long::sum);
+            updatedTasks.add(task);
+            positions.add(i);
+        }
+        taskRepository.flush();
+        for (int j = 0; j < updatedTasks.size(); j++) {
+            Task task = updatedTasks.get(j);
+            int index = positions.get(j);
+            results[index] = new TaskBatchResultDto(
+                    index, task.getId(), task.getVersion(), BATCH_UPDATED, null);
+            reminderScheduler.reschedule(task);
+            taskTextIndex.index(task);
+        }
+        historyRecorder.recordUpdated(updatedTasks, previousStates, user.getId());
+        projectStatsService.recordDeltas(deltas);
+        log.info("Updated {} of {} tasks in project {}",
+                updatedTasks.size(), items.size(), project.getId());
+        return Arrays.asList(results);
     }
 
     @Override
@@ -76,30 +247,177 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    public TaskPageDto search(User user, TaskSearchDto searchDto) {
+        TaskCursor after = searchDto.getCursor() != null
+                ? TaskCursor.decode(searchDto.getCursor())
+                : null;
+        TaskSortKey sortKey = after != null
+                ? after.sortKey()
+                : findConstantIfValid(TaskSortKey.class, "Sort key", searchDto.getSortBy());
+        Set<Long> projectIds = searchDto.getProjectIds() != null
+                ? searchDto.getProjectIds()
+                : Set.of();
+        for (Long projectId : projectIds) {
+            if (!projectService.isMember(projectId, user.getId())) {
+                String message = "Access to project with id " + projectId + " is forbidden.";
+                throw new UserNotInProjectException(message);
+            }
+        }
+        Project.Status status = searchDto.getStatus() != null
+                ? findConstantIfValid(Project.Status.class, "Status", searchDto.getStatus())
+                : null;
+        Task.Priority priority = searchDto.getPriority() != null
+                ? getPriorityIfValid(searchDto.getPriority())
+                : null;
+        int limit = Math.clamp(searchDto.getSize(), 1, MAX_PAGE_SIZE);
+        TaskSearchCriteria criteria = new TaskSearchCriteria(
+                projectIds,
+                user.getId(),
+                status,
+                priority,
+                searchDto.getAssigneeId(),
+                searchDto.getDueFrom(),
+                searchDto.getDueTo(),
+                sortKey,
+                after != null ? after.dueDate() : null,
+                after != null ? after.id() : 0,
+                limit);
+        List<TaskSummaryDto> content = taskRepository.search(criteria);
+        String nextCursor = content.size() < limit
+                ? null
+                : TaskCursor.after(sortKey, content.get(content.size() - 1)).encode();
+        return new TaskPageDto(content, nextCursor);
+    }
+
+    @Override
+    public List<TaskDto> searchText(User user, Long projectId, String query, int limit) {
+        if (!projectService.isMember(projectId, user.getId())) {
+            String message = "Access to project with id " + projectId + " is forbidden.";
+            throw new UserNotInProjectException(message);
+        }
+        if (!taskTextIndex.isReady()) {
+            String message = "Task search index is still loading, try again later";
+            log.warn(message);
+            throw new ServiceUnavailableException(message);
+        }
+        List<TaskTextHit> hits = taskTextIndex.search(
+                projectId, query, Math.clamp(limit, 1, MAX_TEXT_HITS));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Task> tasks = taskRepository.findAllWithProjectAndUserByIdIn(
+                        hits.stream().map(TaskTextHit::taskId).toList()).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        return hits.stream()
+                .map(hit -> tasks.get(hit.taskId()))
+                .filter(Objects::nonNull)
+                .map(taskMapper::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public void deleteById(User user, Long id) {
         log.info("Deleting task by id: {}", id);
-        taskRepository.delete(getTaskById(user, id));
+        Task task = getTaskById(user, id);
+        taskRepository.delete(task);
+        historyRecorder.recordDeleted(id);
+        projectStatsService.recordDeleted(task);
+        reminderScheduler.cancel(id);
+        taskTextIndex.remove(task.getProject().getId(), id);
     }
 
     @Override
-    public TaskDto updateById(User user, Long id, UpdateTaskDto updateTaskDto) {
+    @Transactional
+    public TaskDto updateById(User user,
+                              Long id,
+                              UpdateTaskDto updateTaskDto,
+                              Set<Long> expectedVersions) {
         Task task = getTaskById(user, id);
+        if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+            String message = "Task with id " + id + " was modified, current version is "
+                    + task.getVersion();
+            throw new PreconditionFailedException(message);
+        }
+        Project.Status oldStatus = task.getStatus();
+        Task.Priority oldPriority = task.getPriority();
+        TaskState before = TaskState.of(task);
         task.setName(updateTaskDto.getName());
         task.setDescription(updateTaskDto.getDescription());
         task.setDueDate(updateTaskDto.getDueDate());
         validateAndSetEnums(task, updateTaskDto.getStatus(), updateTaskDto.getPriority());
+        Task savedTask = taskRepository.saveAndFlush(task);
+        projectStatsService.recordUpdated(oldStatus, oldPriority, savedTask);
+        reminderScheduler.reschedule(savedTask);
+        taskTextIndex.index(savedTask);
+        historyRecorder.recordUpdated(savedTask, before, user.getId());
         log.info("Task updated successfully with id: {}", id);
-        return taskMapper.toDto(taskRepository.save(task));
+        return taskMapper.toDto(savedTask);
     }
 
     private Task getTaskById(User user, Long id) {
         log.info("Fetching task by id: {}", id);
-        Task task = taskRepository.findById(id).orElseThrow(() -> {
-            String message = "Task with id " + id + " doesn't exist.";
-            return new EntityNotFoundException(message);
-        });
-        projectService.getProjectById(user, task.getProject().getId());
-        return task;
+        TaskAccess access = taskRepository.findWithAccessById(id, user.getId())
+                .orElseThrow(() -> {
+                    String message = "Task with id " + id + " doesn't exist.";
+                    return new EntityNotFoundException(message);
+                });
+        if (!access.isMember()) {
+            String message = "Access to project with id "
+                    + access.getTask().getProject().getId() + " is forbidden.";
+            log.error(message);
+            throw new AccessForbiddenException(message);
+        }
+        return access.getTask();
+    }
+
+    private String findViolation(Object item) {
+        if (item == null) {
+            return "Task can't be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private String checkBatchItem(TaskBatchCreateItemDto item, Map<Long, User> assignees) {
+        if (EnumValidator.findConstantIfValid(Task.Priority.class, item.getPriority())
+                .isEmpty()) {
+            return "Priority " + item.getPriority() + " doesn't exist";
+        }
+        if (!assignees.containsKey(item.getUserId())) {
+            return "User with id " + item.getUserId() + " not in project";
+        }
+        return null;
+    }
+
+    private String checkBatchItem(TaskBatchUpdateItemDto item, Task task, Long projectId) {
+        if (task == null) {
+            return "Task with id " + item.getId() + " doesn't exist in project " + projectId;
+        }
+        if (item.getVersion() != null && !item.getVersion().equals(task.getVersion())) {
+            return "Task with id " + item.getId() + " was modified, current version is "
+                    + task.getVersion();
+        }
+        if (EnumValidator.findConstantIfValid(Project.Status.class, item.getStatus())
+                .isEmpty()) {
+            return "Status " + item.getStatus() + " doesn't exist";
+        }
+        if (EnumValidator.findConstantIfValid(Task.Priority.class, item.getPriority())
+                .isEmpty()) {
+            return "Priority " + item.getPriority() + " doesn't exist";
+        }
+        return null;
+    }
+
+    private ProjectTaskCounter.Key counterKey(Task task) {
+        return new ProjectTaskCounter.Key(
+                task.getProject().getId(), task.getStatus(), task.getPriority());
     }
 
     private Task.Priority getPriorityIfValid(String requestPriority) {
@@ -110,6 +428,14 @@ public class TaskServiceImpl implements TaskService {
                 });
     }
 
+    private <E extends Enum<E>> E findConstantIfValid(Class<E> type, String name, String value) {
+        return EnumValidator.findConstantIfValid(type, value)
+                .orElseThrow(() -> {
+                    String message = name + " " + value + " doesn't exist";
+                    return new InvalidConstantException(message);
+                });
+    }
+
     private void validateAndSetEnums(Task task, String requestStatus, String requestPriority) {
         Project.Status status =
                 EnumValidator.findConstantIfValid(Project.Status.class, requestStatus)
@@ -121,18 +447,4 @@ public class TaskServiceImpl implements TaskService {
         task.setStatus(status);
         task.setPriority(priority);
     }
-
-    @Scheduled(cron = SCHEDULE)
-    private void getAndNotifyOverdueTasks() {
-        LocalDate today = LocalDate.now();
-        List<Task> tasks =
-                taskRepository.findTasksWithDueDateTodayAndNotCompleted(today);
-        tasks.stream()
-                .map(task ->
-                        messageFormer.formMessageAboutTaskDeadline(
-                                task.getProject().getName(),
-                                task,
-                                task.getUser()))
-                .forEach(kafkaProducer::sendNotificationData);
-    }
 }
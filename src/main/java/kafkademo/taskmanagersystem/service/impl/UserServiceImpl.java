@@ -3,6 +3,8 @@ package kafkademo.taskmanagersystem.service.impl;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import kafkademo.taskmanagersystem.cache.LiveUserIdIndex;
 import kafkademo.taskmanagersystem.dto.user.request.RegisterUserRequestDto;
 import kafkademo.taskmanagersystem.dto.user.request.UpdateUserRequestDto;
 import kafkademo.taskmanagersystem.dto.user.request.UpdateUserRoleDto;
@@ -13,10 +15,12 @@ import kafkademo.taskmanagersystem.exception.RegistrationException;
 import kafkademo.taskmanagersystem.mapper.UserMapper;
 import kafkademo.taskmanagersystem.repo.RoleRepository;
 import kafkademo.taskmanagersystem.repo.UserRepository;
+import kafkademo.taskmanagersystem.security.PasswordHashingService;
+import kafkademo.taskmanagersystem.security.PrincipalCache;
+import kafkademo.taskmanagersystem.security.SecurityEpochRegistry;
 import kafkademo.taskmanagersystem.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -25,11 +29,14 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final RoleRepository roleRepository;
+    private final PrincipalCache principalCache;
+    private final SecurityEpochRegistry epochRegistry;
+    private final LiveUserIdIndex liveUserIdIndex;
 
     @Override
-    public ResponseUserDto register(RegisterUserRequestDto requestDto) {
+    public CompletableFuture<ResponseUserDto> register(RegisterUserRequestDto requestDto) {
         if (userRepository.findUserByEmail(requestDto.getEmail()).isPresent()) {
             String message = "User with email: "
                     + requestDto.getEmail() + " does already exist";
@@ -37,7 +44,6 @@ public class UserServiceImpl implements UserService {
             throw new RegistrationException(message);
         }
         User user = userMapper.toEntity(requestDto);
-        user.setPassword(passwordEncoder.encode(requestDto.getPassword()));
         Role role = roleRepository.findAllByRoleName(Role.RoleName.USER)
                 .orElseThrow(() -> {
                     String message = "Can not find role by name: " + Role.RoleName.USER;
@@ -45,9 +51,14 @@ public class UserServiceImpl implements UserService {
                     return new EntityNotFoundException(message);
                 });
         user.setRoles(Collections.singleton(role));
-        User savedUser = userRepository.save(user);
-        log.info("User registered successfully with id: {}", savedUser.getId());
-        return userMapper.toDto(savedUser);
+        return passwordHashingService.encode(requestDto.getPassword())
+                .thenApply(hash -> {
+                    user.setPassword(hash);
+                    User savedUser = userRepository.save(user);
+                    liveUserIdIndex.add(savedUser.getId());
+                    log.info("User registered successfully with id: {}", savedUser.getId());
+                    return userMapper.toDto(savedUser);
+                });
     }
 
     @Override
@@ -61,8 +72,11 @@ public class UserServiceImpl implements UserService {
                     return new EntityNotFoundException(message);
                 });
         user.setRoles(Collections.singleton(role));
+        User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getUsername());
+        epochRegistry.bump(userId);
         log.info("User role updated successfully for userId: {}", userId);
-        return userMapper.toDto(userRepository.save(user));
+        return userMapper.toDto(savedUser);
     }
 
     @Override
@@ -71,8 +85,10 @@ public class UserServiceImpl implements UserService {
         user.setNickName(updateDto.getNickName());
         user.setFirstName(updateDto.getUserFirstName());
         user.setLastName(updateDto.getUserLastName());
+        User savedUser = userRepository.save(user);
+        principalCache.evict(savedUser.getUsername());
         log.info("User profile updated successfully for userId: {}", userId);
-        return userMapper.toDto(userRepository.save(user));
+        return userMapper.toDto(savedUser);
     }
 
     @Override
@@ -83,9 +99,8 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public Set<Long> getAllUserIds() {
-        log.info("Retrieved all user IDs");
-        return userRepository.findAllIds();
+    public Set<Long> findInvalidUserIds(Set<Long> userIds) {
+        return liveUserIdIndex.findInvalid(userIds);
     }
 
     @Override
@@ -0,0 +1,79 @@
+package kafkademo.taskmanagersystem.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import kafkademo.taskmanagersystem.exception.MalformedHeaderException;
+import kafkademo.taskmanagersystem.exception.PreconditionFailedException;
+
+public final class ETags {
+    private static final int MAX_DIGITS = 18;
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the versions named by the strong tags of an If-Match list, or null when any
+     * version matches. Weak tags never match, since If-Match uses strong comparison.
+     */
+    public static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        int tags = 0;
+        int i = skipSeparators(ifMatch, 0);
+        while (i < ifMatch.length()) {
+            boolean weak = ifMatch.startsWith(WEAK_PREFIX, i);
+            int open = weak ? i + WEAK_PREFIX.length() : i;
+            int close = open < ifMatch.length() && ifMatch.charAt(open) == '"'
+                    ? ifMatch.indexOf('"', open + 1)
+                    : -1;
+            int next = close < 0 ? -1 : skipWhitespace(ifMatch, close + 1);
+            if (next < 0 || next < ifMatch.length() && ifMatch.charAt(next) != ',') {
+                throw new MalformedHeaderException("If-Match " + ifMatch
+                        + " is not a list of entity tags");
+            }
+            String version = ifMatch.substring(open + 1, close);
+            if (!weak && !version.isEmpty() && version.length() <= MAX_DIGITS
+                    && version.chars().allMatch(Character::isDigit)) {
+                versions.add(Long.valueOf(version));
+            }
+            tags++;
+            i = skipSeparators(ifMatch, next);
+        }
+        if (tags == 0) {
+            throw new MalformedHeaderException("If-Match " + ifMatch
+                    + " is not a list of entity tags");
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match " + ifMatch
+                    + " doesn't match the current version");
+        }
+        return versions;
+    }
+
+    private static int skipSeparators(String value, int from) {
+        int i = from;
+        while (i < value.length() && (value.charAt(i) == ',' || isWhitespace(value.charAt(i)))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipWhitespace(String value, int from) {
+        int i = from;
+        while (i < value.length() && isWhitespace(value.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
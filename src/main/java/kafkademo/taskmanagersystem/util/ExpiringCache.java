@@ -0,0 +1,139 @@
+package kafkademo.taskmanagersystem.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Reads are lock-free; writes are serialized so the expiry index stays in step with the
+ * entries. Expired entries are dropped, and when the cache is full the entry closest to
+ * expiry is evicted, both from the head of the index in O(log n).
+ */
+public class ExpiringCache<K, V> {
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final TreeMap<ExpiryKey, K> expiryIndex = new TreeMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxSize;
+    private final long ttlMillis;
+    private long sequence;
+
+    public ExpiringCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long invalidationsBeforeLoad = invalidations.get();
+        V value = loader.apply(key);
+        if (invalidations.get() == invalidationsBeforeLoad) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiry().expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return Optional.of(entry.value());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    public synchronized void put(K key, V value, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return;
+        }
+        unindex(entries.remove(key));
+        makeRoom(now);
+        Entry<V> entry = new Entry<>(value,
+                new ExpiryKey(Math.min(expiresAt, now + ttlMillis), ++sequence));
+        entries.put(key, entry);
+        expiryIndex.put(entry.expiry(), key);
+    }
+
+    public synchronized void invalidate(K key) {
+        invalidations.incrementAndGet();
+        unindex(entries.remove(key));
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations.incrementAndGet();
+        entries.clear();
+        expiryIndex.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public void registerMetrics(MeterRegistry meterRegistry, String name) {
+        FunctionCounter.builder(name + ".requests", this, ExpiringCache::hitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(name + ".requests", this, ExpiringCache::missCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder(name + ".evictions", this, ExpiringCache::evictionCount)
+                .register(meterRegistry);
+        Gauge.builder(name + ".size", this, ExpiringCache::size)
+                .register(meterRegistry);
+    }
+
+    private void makeRoom(long now) {
+        while (!expiryIndex.isEmpty() && (entries.size() >= maxSize
+                || expiryIndex.firstKey().expiresAt() <= now)) {
+            entries.remove(expiryIndex.pollFirstEntry().getValue());
+            evictions.increment();
+        }
+    }
+
+    private void unindex(Entry<V> entry) {
+        if (entry != null) {
+            expiryIndex.remove(entry.expiry());
+        }
+    }
+
+    private record Entry<V>(V value, ExpiryKey expiry) {
+    }
+
+    private record ExpiryKey(long expiresAt, long sequence) implements Comparable<ExpiryKey> {
+        @Override
+        public int compareTo(ExpiryKey other) {
+            int byTime = Long.compare(expiresAt, other.expiresAt);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
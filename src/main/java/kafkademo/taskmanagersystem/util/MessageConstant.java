@@ -12,6 +12,17 @@ public class MessageConstant {
                 End Date: %s
                 Status: %s
             """;
+    public static final String PROJECT_CLONE = """
+             You have been added to the project '%s'. Below are the details of the project:
+            
+                Project Name: %s
+                Description: %s
+                Start Date: %s
+                End Date: %s
+                Status: %s
+                Tasks: %d
+                Assigned to you: %d
+            """;
     public static final String PROJECT_REMOVE_MEMBER_SUBJECT =
             "Project '%s'";
     public static final String PROJECT_REMOVE_MEMBER =
@@ -31,6 +42,9 @@ public class MessageConstant {
                 Due Date: %s
                 Status: %s
             """;
+    public static final String TASKS_ASSIGNING_SUBJECT = "New Tasks Assigned!";
+    public static final String TASKS_ASSIGNING =
+            "You have been assigned %d new tasks in the project '%s'.";
     public static final String TASK_DEADLINE_SUBJECT =
             "Task Deadline Approaching!";
     public static final String TASK_DEADLINE = """
@@ -0,0 +1,32 @@
+package kafkademo.taskmanagersystem.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+    private final AtomicLong theoreticalArrivalTime;
+    private final long emissionInterval;
+    private final long burstTolerance;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long now) {
+        this.emissionInterval = refillIntervalNanos;
+        this.burstTolerance = capacity * refillIntervalNanos;
+        this.theoreticalArrivalTime = new AtomicLong(now);
+    }
+
+    public boolean tryConsume(long now) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long next = Math.max(current, now) + emissionInterval;
+            if (next - now > burstTolerance) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public long fullAt() {
+        return theoreticalArrivalTime.get();
+    }
+}
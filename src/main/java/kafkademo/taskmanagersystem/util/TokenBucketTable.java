@@ -0,0 +1,71 @@
+package kafkademo.taskmanagersystem.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Bounded set of token buckets ordered by the time each one refills completely. Refilled
+ * buckets carry no state worth keeping, so they are reclaimed from the head of the index in
+ * O(log n); a bucket that still limits its key is never evicted, and a new key is refused
+ * while every bucket is still refilling.
+ */
+public class TokenBucketTable {
+    private final Map<String, Slot> slots = new HashMap<>();
+    private final TreeMap<RefillKey, String> refillIndex = new TreeMap<>();
+    private final int capacity;
+    private final long refillIntervalNanos;
+    private final int maxEntries;
+    private long sequence;
+
+    public TokenBucketTable(int capacity, long refillIntervalNanos, int maxEntries) {
+        this.capacity = capacity;
+        this.refillIntervalNanos = refillIntervalNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    public synchronized boolean tryConsume(String key, long now) {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            removeRefilled(now);
+            if (slots.size() >= maxEntries) {
+                return false;
+            }
+            slot = new Slot(new TokenBucket(capacity, refillIntervalNanos, now));
+            slots.put(key, slot);
+        } else {
+            refillIndex.remove(slot.refillKey);
+        }
+        boolean consumed = slot.bucket.tryConsume(now);
+        slot.refillKey = new RefillKey(slot.bucket.fullAt(), ++sequence);
+        refillIndex.put(slot.refillKey, key);
+        return consumed;
+    }
+
+    public synchronized void removeRefilled(long now) {
+        while (!refillIndex.isEmpty() && refillIndex.firstKey().fullAt() - now <= 0) {
+            slots.remove(refillIndex.pollFirstEntry().getValue());
+        }
+    }
+
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    private static final class Slot {
+        private final TokenBucket bucket;
+        private RefillKey refillKey;
+
+        private Slot(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    private record RefillKey(long fullAt, long sequence) implements Comparable<RefillKey> {
+        @Override
+        public int compareTo(RefillKey other) {
+            int byTime = Long.signum(fullAt - other.fullAt);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package kafkademo.taskmanagersystem.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class TokenDigest {
+    private static final String ALGORITHM = "SHA-256";
+
+    private TokenDigest() {
+    }
+
+    public static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance(ALGORITHM)
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Can't find digest algorithm " + ALGORITHM, e);
+        }
+    }
+}
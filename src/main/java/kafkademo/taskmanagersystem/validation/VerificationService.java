@@ -2,7 +2,8 @@ package kafkademo.taskmanagersystem.validation;
 
 import com.example.dto.VerificationData;
 import java.time.LocalDateTime;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.ZoneId;
+import java.util.Optional;
 import kafkademo.taskmanagersystem.entity.User;
 import kafkademo.taskmanagersystem.repo.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,20 +13,26 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class VerificationService {
     private static final int EXPIRATION_PERIOD = 1;
-    private final ConcurrentHashMap<String, VerificationData> verificationMap =
-            new ConcurrentHashMap<>();
+    private final VerificationStore verificationStore;
     private final UserRepository userRepository;
 
     public void saveVerificationData(String token, VerificationData verificationData) {
-        verificationMap.put(token, verificationData);
+        LocalDateTime createdAt = verificationData.getCreatedAt() != null
+                ? verificationData.getCreatedAt()
+                : LocalDateTime.now();
+        long expiresAt = createdAt.plusHours(EXPIRATION_PERIOD)
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+        verificationStore.save(token, verificationData, expiresAt);
     }
 
     public boolean verifyData(String token) {
-        VerificationData verificationData = verificationMap.get(token);
-        if (verificationData == null) {
+        Optional<VerificationData> pending = verificationStore.remove(token);
+        if (pending.isEmpty()) {
             return false;
         }
-        verificationMap.remove(token);
+        VerificationData verificationData = pending.get();
         LocalDateTime createdAt = verificationData.getCreatedAt();
         LocalDateTime expiredAt = createdAt.plusHours(EXPIRATION_PERIOD);
         if (LocalDateTime.now().isAfter(expiredAt)) {
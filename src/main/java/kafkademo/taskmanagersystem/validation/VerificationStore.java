@@ -0,0 +1,207 @@
+package kafkademo.taskmanagersystem.validation;
+
+import com.example.dto.VerificationData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Slf4j
+@Component
+public class VerificationStore {
+    private static final String PUT = "PUT";
+    private static final String REMOVE = "REMOVE";
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<ExpiryKey> expiryIndex = new ConcurrentSkipListSet<>();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final Path journalPath;
+    private BufferedWriter journal;
+    private long journalRecords;
+
+    public VerificationStore(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${verification.store.max-size:100000}") int maxSize,
+                             @Value("${verification.store.journal-path:}") String journalPath) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.journalPath = StringUtils.hasText(journalPath) ? Path.of(journalPath) : null;
+        Gauge.builder("verification.store.size", pending, Map::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("verification.store.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        FunctionCounter.builder("verification.store.expirations", expirations, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void restore() {
+        if (journalPath == null) {
+            return;
+        }
+        try {
+            if (Files.exists(journalPath)) {
+                long now = System.currentTimeMillis();
+                // Decoding leniently keeps a record torn mid-character from failing the read.
+                String journalText = new String(Files.readAllBytes(journalPath),
+                        StandardCharsets.UTF_8);
+                int skipped = 0;
+                for (String line : journalText.lines().toList()) {
+                    JournalEntry entry = readEntry(line);
+                    if (entry == null) {
+                        skipped++;
+                    } else {
+                        replay(entry, now);
+                    }
+                }
+                log.info("Restored {} pending verifications from {}, skipped {} records",
+                        pending.size(), journalPath, skipped);
+            }
+            compactJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't restore verification journal " + journalPath, e);
+        }
+    }
+
+    public synchronized void save(String token, VerificationData data, long expiresAt) {
+        remove(token);
+        while (pending.size() >= maxSize && !expiryIndex.isEmpty()) {
+            ExpiryKey oldest = expiryIndex.first();
+            remove(oldest.token());
+            evictions.increment();
+        }
+        pending.put(token, new Pending(data, expiresAt));
+        expiryIndex.add(new ExpiryKey(expiresAt, token));
+        append(new JournalEntry(PUT, token, expiresAt, data));
+    }
+
+    public synchronized Optional<VerificationData> remove(String token) {
+        Pending removed = pending.remove(token);
+        if (removed == null) {
+            return Optional.empty();
+        }
+        expiryIndex.remove(new ExpiryKey(removed.expiresAt(), token));
+        append(new JournalEntry(REMOVE, token, null, null));
+        return Optional.of(removed.data());
+    }
+
+    @Scheduled(fixedDelayString = "${verification.store.sweep-interval:PT1M}")
+    public synchronized void removeExpired() {
+        long now = System.currentTimeMillis();
+        while (!expiryIndex.isEmpty() && expiryIndex.first().expiresAt() <= now) {
+            remove(expiryIndex.first().token());
+            expirations.increment();
+        }
+        if (journal != null && journalRecords > 2L * pending.size() + maxSize) {
+            try {
+                compactJournal();
+            } catch (IOException e) {
+                log.error("Can't compact verification journal {}", journalPath, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+    }
+
+    private JournalEntry readEntry(String line) {
+        try {
+            JournalEntry entry = objectMapper.readValue(line, JournalEntry.class);
+            if (entry.token() != null && (REMOVE.equals(entry.op())
+                    || PUT.equals(entry.op()) && entry.expiresAt() != null)) {
+                return entry;
+            }
+            log.warn("Skipping incomplete verification journal record: {}", line);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping malformed verification journal record: {}",
+                    e.getOriginalMessage());
+        }
+        return null;
+    }
+
+    private void replay(JournalEntry entry, long now) {
+        if (REMOVE.equals(entry.op())) {
+            Pending removed = pending.remove(entry.token());
+            if (removed != null) {
+                expiryIndex.remove(new ExpiryKey(removed.expiresAt(), entry.token()));
+            }
+        } else if (entry.expiresAt() > now) {
+            pending.put(entry.token(), new Pending(entry.data(), entry.expiresAt()));
+            expiryIndex.add(new ExpiryKey(entry.expiresAt(), entry.token()));
+        }
+    }
+
+    private void append(JournalEntry entry) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journal.write(objectMapper.writeValueAsString(entry));
+            journal.newLine();
+            journal.flush();
+            journalRecords++;
+        } catch (IOException e) {
+            log.error("Can't append to verification journal {}", journalPath, e);
+        }
+    }
+
+    private void compactJournal() throws IOException {
+        close();
+        Path compacted = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+        List<String> lines = new ArrayList<>(pending.size());
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            lines.add(objectMapper.writeValueAsString(new JournalEntry(PUT, entry.getKey(),
+                    entry.getValue().expiresAt(), entry.getValue().data())));
+        }
+        Files.write(compacted, lines, StandardCharsets.UTF_8);
+        Files.move(compacted, journalPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        journal = Files.newBufferedWriter(journalPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        journalRecords = lines.size();
+    }
+
+    private record Pending(VerificationData data, long expiresAt) {
+    }
+
+    private record ExpiryKey(long expiresAt, String token) implements Comparable<ExpiryKey> {
+        @Override
+        public int compareTo(ExpiryKey other) {
+            int byTime = Long.compare(expiresAt, other.expiresAt);
+            return byTime != 0 ? byTime : token.compareTo(other.token);
+        }
+    }
+
+    record JournalEntry(String op, String token, Long expiresAt, VerificationData data) {
+    }
+}
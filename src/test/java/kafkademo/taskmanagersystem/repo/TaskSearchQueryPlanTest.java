@@ -0,0 +1,148 @@
+package kafkademo.taskmanagersystem.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.task.TaskSortKey;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.Task;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers(disabledWithoutDocker = true)
+class TaskSearchQueryPlanTest {
+    private static final int PROJECTS = 50;
+    private static final int TASKS = 20_000;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private static TaskSearchRepositoryImpl repository;
+    private static Long projectId;
+    private static Long memberId;
+
+    @BeforeAll
+    static void migrateAndSeed() throws Exception {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.yaml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        repository = new TaskSearchRepositoryImpl(namedParameterJdbcTemplate);
+        memberId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class);
+
+        List<Integer> projectNumbers = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projectNumbers.add(i);
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO projects (name, description, start_date, "
+                        + "end_date, status) VALUES (?, 'seed', ?, ?, 'IN_PROGRESS')",
+                projectNumbers, 500, (statement, i) -> {
+                    statement.setString(1, "project-" + i);
+                    statement.setObject(2, START);
+                    statement.setObject(3, START.plusYears(1));
+                });
+        List<Long> projectIds = jdbcTemplate.queryForList(
+                "SELECT id FROM projects ORDER BY id", Long.class);
+        projectId = projectIds.get(0);
+        jdbcTemplate.batchUpdate("INSERT INTO projects_users (project_id, user_id) VALUES (?, ?)",
+                projectIds.subList(0, 5), 500, (statement, id) -> {
+                    statement.setLong(1, id);
+                    statement.setLong(2, memberId);
+                });
+
+        List<Integer> taskNumbers = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            taskNumbers.add(i);
+        }
+        Project.Status[] statuses = Project.Status.values();
+        Task.Priority[] priorities = Task.Priority.values();
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (name, description, priority, status, "
+                        + "due_date, project_id, user_id) VALUES (?, 'seed', ?, ?, ?, ?, ?)",
+                taskNumbers, 1000, (statement, i) -> {
+                    statement.setString(1, "task-" + i);
+                    statement.setString(2, priorities[i % priorities.length].name());
+                    statement.setString(3, statuses[i / PROJECTS % statuses.length].name());
+                    statement.setObject(4, START.plusDays(i % 365));
+                    statement.setLong(5, projectIds.get(i % PROJECTS));
+                    statement.setLong(6, i % 100 + 1);
+                });
+        jdbcTemplate.execute("ANALYZE TABLE tasks, projects_users");
+    }
+
+    @Test
+    void searchByProjectAndStatusReadsCompositeIndexInOrder() {
+        Map<String, Object> plan = explain(new TaskSearchCriteria(Set.of(projectId), memberId,
+                Project.Status.IN_PROGRESS, null, null, null, null,
+                TaskSortKey.DUE_DATE, null, 0, 50));
+
+        assertEquals("idx_tasks_project_status_due_date", plan.get("key"));
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void nextPageByProjectAndStatusKeepsCompositeIndex() {
+        Map<String, Object> plan = explain(new TaskSearchCriteria(Set.of(projectId), memberId,
+                Project.Status.IN_PROGRESS, null, null, null, null,
+                TaskSortKey.DUE_DATE, START.plusDays(100), 5_000, 50));
+
+        assertEquals("idx_tasks_project_status_due_date", plan.get("key"));
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void searchByProjectSortedByDueDateReadsProjectIndexInOrder() {
+        Map<String, Object> plan = explain(new TaskSearchCriteria(Set.of(projectId), memberId,
+                null, null, null, START.plusDays(30), START.plusDays(60),
+                TaskSortKey.DUE_DATE, null, 0, 50));
+
+        assertEquals("idx_tasks_project_due_date", plan.get("key"));
+        assertNoFilesort(plan);
+    }
+
+    @Test
+    void searchByAssigneeAcrossMemberProjectsAvoidsFullScan() {
+        Map<String, Object> plan = explain(new TaskSearchCriteria(Set.of(), memberId,
+                null, Task.Priority.HIGH, 7L, START.plusDays(10), START.plusDays(200),
+                TaskSortKey.DUE_DATE, null, 0, 50));
+
+        assertNotNull(plan.get("key"));
+        assertNotEquals("ALL", plan.get("type"));
+    }
+
+    private Map<String, Object> explain(TaskSearchCriteria criteria) {
+        TaskSearchRepositoryImpl.SearchQuery query = repository.prepare(criteria);
+        return namedParameterJdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.params())
+                .stream()
+                .filter(row -> "t".equals(row.get("table")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void assertNoFilesort(Map<String, Object> plan) {
+        assertFalse(String.valueOf(plan.get("Extra")).contains("filesort"),
+                () -> "Unexpected filesort: " + plan);
+    }
+}
@@ -0,0 +1,148 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchResultDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateDto;
+import kafkademo.taskmanagersystem.dto.task.TaskBatchUpdateItemDto;
+import kafkademo.taskmanagersystem.entity.Project;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.history.TaskHistoryRecorder;
+import kafkademo.taskmanagersystem.kafka.KafkaProducer;
+import kafkademo.taskmanagersystem.mapper.TaskMapperImpl;
+import kafkademo.taskmanagersystem.scheduler.TaskReminderScheduler;
+import kafkademo.taskmanagersystem.search.TaskTextIndex;
+import kafkademo.taskmanagersystem.service.MessageFormer;
+import kafkademo.taskmanagersystem.service.ProjectService;
+import kafkademo.taskmanagersystem.service.ProjectStatsService;
+import kafkademo.taskmanagersystem.service.TaskService;
+import kafkademo.taskmanagersystem.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({TaskServiceImpl.class, TaskMapperImpl.class})
+@Testcontainers(disabledWithoutDocker = true)
+class TaskServiceBatchTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ProjectService projectService;
+    @MockBean
+    private MessageFormer messageFormer;
+    @MockBean
+    private KafkaProducer kafkaProducer;
+    @MockBean
+    private ProjectStatsService projectStatsService;
+    @MockBean
+    private TaskReminderScheduler reminderScheduler;
+    @MockBean
+    private TaskTextIndex taskTextIndex;
+    @MockBean
+    private TaskHistoryRecorder historyRecorder;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User member;
+    private Long projectId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        member = new User();
+        member.setId(jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class));
+        jdbcTemplate.update("INSERT INTO projects (name, description, start_date, end_date, "
+                + "status) VALUES ('batch', 'seed', ?, ?, 'IN_PROGRESS')",
+                START, START.plusMonths(1));
+        projectId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        Project project = entityManager.find(Project.class, projectId);
+        when(projectService.getProjectById(any(User.class), eq(projectId))).thenReturn(project);
+    }
+
+    @Test
+    void updateBatchRejectsInvalidItemAndAppliesTheOthers() {
+        Long first = insertTask("first");
+        Long second = insertTask("second");
+        Long third = insertTask("third");
+        TaskBatchUpdateItemDto blankName = item(second, " ");
+        blankName.setDueDate(null);
+        TaskBatchUpdateDto batchDto = new TaskBatchUpdateDto();
+        batchDto.setProjectId(projectId);
+        batchDto.setTasks(List.of(item(first, "first renamed"), blankName,
+                item(third, "third renamed")));
+
+        List<TaskBatchResultDto> results = taskService.updateBatch(member, batchDto);
+        entityManager.clear();
+
+        assertEquals(List.of("UPDATED", "FAILED", "UPDATED"),
+                results.stream().map(TaskBatchResultDto::status).toList());
+        assertNull(results.get(0).error());
+        assertTrue(results.get(1).error().contains("dueDate"));
+        assertTrue(results.get(1).error().contains("name"));
+        assertEquals("first renamed", taskName(first));
+        assertEquals("second", taskName(second));
+        assertEquals("third renamed", taskName(third));
+    }
+
+    private Long insertTask(String name) {
+        jdbcTemplate.update("INSERT INTO tasks (name, description, priority, status, due_date, "
+                + "project_id, user_id) VALUES (?, 'seed', 'LOW', 'INITIATED', ?, ?, ?)",
+                name, START.plusDays(7), projectId, member.getId());
+        return jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+    }
+
+    private TaskBatchUpdateItemDto item(Long id, String name) {
+        TaskBatchUpdateItemDto item = new TaskBatchUpdateItemDto();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("updated");
+        item.setPriority("HIGH");
+        item.setStatus("IN_PROGRESS");
+        item.setDueDate(START.plusDays(14));
+        return item;
+    }
+
+    private String taskName(Long id) {
+        return jdbcTemplate.queryForObject("SELECT name FROM tasks WHERE id = ?",
+                String.class, id);
+    }
+}
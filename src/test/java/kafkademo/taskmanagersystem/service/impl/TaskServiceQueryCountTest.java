@@ -0,0 +1,216 @@
+package kafkademo.taskmanagersystem.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.Validator;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import kafkademo.taskmanagersystem.dto.task.TaskDto;
+import kafkademo.taskmanagersystem.dto.task.UpdateTaskDto;
+import kafkademo.taskmanagersystem.entity.User;
+import kafkademo.taskmanagersystem.exception.AccessForbiddenException;
+import kafkademo.taskmanagersystem.history.TaskHistoryRecorder;
+import kafkademo.taskmanagersystem.kafka.KafkaProducer;
+import kafkademo.taskmanagersystem.mapper.TaskMapperImpl;
+import kafkademo.taskmanagersystem.scheduler.TaskReminderScheduler;
+import kafkademo.taskmanagersystem.search.TaskTextIndex;
+import kafkademo.taskmanagersystem.service.MessageFormer;
+import kafkademo.taskmanagersystem.service.ProjectService;
+import kafkademo.taskmanagersystem.service.ProjectStatsService;
+import kafkademo.taskmanagersystem.service.TaskService;
+import kafkademo.taskmanagersystem.service.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskServiceImpl.class, TaskMapperImpl.class, TaskHistoryRecorder.class,
+        SimpleMeterRegistry.class})
+@Testcontainers(disabledWithoutDocker = true)
+class TaskServiceQueryCountTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final String COUNTERS = "SHOW SESSION STATUS WHERE Variable_name IN "
+            + "('Com_select', 'Com_insert', 'Com_update', 'Com_delete')";
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private ProjectService projectService;
+    @MockBean
+    private MessageFormer messageFormer;
+    @MockBean
+    private KafkaProducer kafkaProducer;
+    @MockBean
+    private ProjectStatsService projectStatsService;
+    @MockBean
+    private TaskReminderScheduler reminderScheduler;
+    @MockBean
+    private TaskTextIndex taskTextIndex;
+    @MockBean
+    private Validator validator;
+
+    @Autowired
+    private TaskService taskService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User member;
+    private Long projectId;
+    private Long taskId;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", MYSQL::getJdbcUrl);
+        registry.add("spring.datasource.username", MYSQL::getUsername);
+        registry.add("spring.datasource.password", MYSQL::getPassword);
+    }
+
+    @BeforeEach
+    void seed() {
+        member = user(jdbcTemplate.queryForObject("SELECT MIN(id) FROM users", Long.class));
+        jdbcTemplate.update("INSERT INTO projects (name, description, start_date, end_date, "
+                + "status) VALUES ('query-count', 'seed', ?, ?, 'IN_PROGRESS')",
+                START, START.plusMonths(1));
+        projectId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        jdbcTemplate.update("INSERT INTO projects_users (project_id, user_id) VALUES (?, ?)",
+                projectId, member.getId());
+        jdbcTemplate.update("INSERT INTO tasks (name, description, priority, status, due_date, "
+                + "project_id, user_id) VALUES ('task', 'seed', 'LOW', 'INITIATED', ?, ?, ?)",
+                START.plusDays(7), projectId, member.getId());
+        taskId = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getByIdLoadsTaskAndMembershipInOneQuery() {
+        TaskDto taskDto = taskService.getById(member, taskId);
+
+        assertEquals(taskId, taskDto.getId());
+        assertEquals(projectId, taskDto.getProjectId());
+        assertEquals(member.getId(), taskDto.getUserId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        verifyNoInteractions(projectService, userService);
+    }
+
+    @Test
+    void getByIdOfMissingTaskStopsAfterOneQuery() {
+        assertThrows(EntityNotFoundException.class,
+                () -> taskService.getById(member, Long.MAX_VALUE));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        verifyNoInteractions(projectService, userService);
+    }
+
+    @Test
+    void getByIdOfForeignProjectStopsAfterOneQuery() {
+        User outsider = user(member.getId() + 1_000_000);
+
+        assertThrows(AccessForbiddenException.class, () -> taskService.getById(outsider, taskId));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        verifyNoInteractions(projectService, userService);
+    }
+
+    @Test
+    void updateByIdSelectsOnceUpdatesOnceAndRecordsHistoryOnce() {
+        TaskDto[] taskDto = new TaskDto[1];
+
+        Map<String, Long> executed = executedStatements(
+                () -> taskDto[0] = taskService.updateById(member, taskId, renamed(), Set.of(0L)));
+
+        assertEquals(1L, taskDto[0].getVersion());
+        assertEquals(Map.of("Com_select", 1L, "Com_update", 1L, "Com_insert", 1L), executed);
+        verifyNoInteractions(projectService, userService);
+    }
+
+    @Test
+    void deleteByIdRemovesTaskHistory() {
+        taskService.updateById(member, taskId, renamed(), Set.of(0L));
+        entityManager.clear();
+
+        taskService.deleteById(member, taskId);
+        entityManager.flush();
+
+        assertEquals(0, count("SELECT COUNT(*) FROM tasks WHERE id = ?"));
+        assertEquals(0, count("SELECT COUNT(*) FROM task_changes WHERE task_id = ?"));
+        assertEquals(0, count("SELECT COUNT(*) FROM task_snapshots WHERE task_id = ?"));
+    }
+
+    private UpdateTaskDto renamed() {
+        UpdateTaskDto updateTaskDto = new UpdateTaskDto();
+        updateTaskDto.setName("renamed");
+        updateTaskDto.setDescription("seed");
+        updateTaskDto.setPriority("HIGH");
+        updateTaskDto.setStatus("IN_PROGRESS");
+        updateTaskDto.setDueDate(START.plusDays(14));
+        return updateTaskDto;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, taskId);
+    }
+
+    // Counts what the MySQL session actually executed, so statements issued through
+    // JdbcTemplate are included alongside the ones Hibernate prepares.
+    private Map<String, Long> executedStatements(Runnable action) {
+        Map<String, Long> overhead = difference(sessionCounters(), sessionCounters());
+        Map<String, Long> before = sessionCounters();
+        action.run();
+        Map<String, Long> executed = difference(before, sessionCounters());
+        overhead.forEach((name, extra) -> executed.merge(name, -extra, Long::sum));
+        executed.values().removeIf(value -> value == 0);
+        return executed;
+    }
+
+    private Map<String, Long> sessionCounters() {
+        Map<String, Long> counters = new HashMap<>();
+        jdbcTemplate.query(COUNTERS,
+                (RowCallbackHandler) rs -> counters.put(rs.getString(1), rs.getLong(2)));
+        return counters;
+    }
+
+    private static Map<String, Long> difference(Map<String, Long> before,
+                                                Map<String, Long> after) {
+        Map<String, Long> difference = new HashMap<>();
+        after.forEach((name, value) -> difference.put(name, value - before.get(name)));
+        return difference;
+    }
+
+    private User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+}
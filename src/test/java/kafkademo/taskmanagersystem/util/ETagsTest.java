@@ -0,0 +1,38 @@
+package kafkademo.taskmanagersystem.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+import kafkademo.taskmanagersystem.exception.MalformedHeaderException;
+import kafkademo.taskmanagersystem.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+    @Test
+    void anyVersionMatchesWithoutHeaderOrWithWildcard() {
+        assertNull(ETags.parseIfMatch(null));
+        assertNull(ETags.parseIfMatch(" * "));
+    }
+
+    @Test
+    void listMatchesEveryStrongTag() {
+        assertEquals(Set.of(3L, 5L), ETags.parseIfMatch(" \"3\" , \"5\""));
+        assertEquals(Set.of(7L), ETags.parseIfMatch("W/\"3\", \"a,b\", \"7\""));
+    }
+
+    @Test
+    void listWithoutMatchableTagFailsPrecondition() {
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("W/\"3\""));
+        assertThrows(PreconditionFailedException.class, () -> ETags.parseIfMatch("\"x\""));
+    }
+
+    @Test
+    void malformedHeaderIsRejected() {
+        assertThrows(MalformedHeaderException.class, () -> ETags.parseIfMatch("3"));
+        assertThrows(MalformedHeaderException.class, () -> ETags.parseIfMatch("\"3\" \"4\""));
+        assertThrows(MalformedHeaderException.class, () -> ETags.parseIfMatch("\"3"));
+        assertThrows(MalformedHeaderException.class, () -> ETags.parseIfMatch(","));
+    }
+}
@@ -0,0 +1,37 @@
+package kafkademo.taskmanagersystem.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTableTest {
+    private static final long REFILL = 1_000;
+
+    @Test
+    void fullTableRefusesNewKeysInsteadOfForgettingActiveLimits() {
+        TokenBucketTable table = new TokenBucketTable(1, REFILL, 2);
+        assertTrue(table.tryConsume("victim", 0));
+        assertFalse(table.tryConsume("victim", 1));
+
+        assertTrue(table.tryConsume("spray-1", 2));
+        assertFalse(table.tryConsume("spray-2", 3));
+
+        assertFalse(table.tryConsume("victim", 4));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void fullTableReclaimsRefilledBucketsFirst() {
+        TokenBucketTable table = new TokenBucketTable(1, REFILL, 2);
+        assertTrue(table.tryConsume("idle", 0));
+        assertTrue(table.tryConsume("victim", 500));
+        assertFalse(table.tryConsume("victim", 600));
+
+        assertTrue(table.tryConsume("new", REFILL));
+
+        assertFalse(table.tryConsume("victim", REFILL + 100));
+        assertEquals(2, table.size());
+    }
+}
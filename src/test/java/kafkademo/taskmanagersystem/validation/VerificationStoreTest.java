@@ -0,0 +1,83 @@
+package kafkademo.taskmanagersystem.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.dto.VerificationData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VerificationStoreTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path directory;
+
+    private VerificationStore store;
+
+    @AfterEach
+    void closeStore() throws Exception {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void restoreSkipsTornLastRecord() throws Exception {
+        Path journal = directory.resolve("verifications.journal");
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        String first = journalLine(new VerificationStore.JournalEntry(
+                "PUT", "first", expiresAt, new VerificationData()));
+        String second = journalLine(new VerificationStore.JournalEntry(
+                "PUT", "second", expiresAt, new VerificationData()));
+        Files.write(journal, List.of(first, second), StandardCharsets.UTF_8);
+        Files.writeString(journal, second.substring(0, second.length() / 2),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        store = newStore(journal);
+        store.restore();
+
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8))
+                .hasSize(2)
+                .allSatisfy(line -> assertThat(objectMapper
+                        .readValue(line, VerificationStore.JournalEntry.class)).isNotNull());
+        assertThat(store.remove("first")).isPresent();
+        assertThat(store.remove("second")).isPresent();
+    }
+
+    @Test
+    void restoreSkipsMalformedRecordBetweenValidOnes() throws Exception {
+        Path journal = directory.resolve("verifications.journal");
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        Files.write(journal, List.of(
+                journalLine(new VerificationStore.JournalEntry(
+                        "PUT", "first", expiresAt, new VerificationData())),
+                "{\"op\":\"PUT\",\"token\":\"broken\"}",
+                "not json",
+                journalLine(new VerificationStore.JournalEntry("REMOVE", "first", null, null))),
+                StandardCharsets.UTF_8);
+
+        store = newStore(journal);
+        store.restore();
+
+        assertThat(store.remove("first")).isEmpty();
+        assertThat(store.remove("broken")).isEmpty();
+        assertThat(Files.readAllLines(journal, StandardCharsets.UTF_8)).isEmpty();
+    }
+
+    private VerificationStore newStore(Path journal) {
+        return new VerificationStore(objectMapper, new SimpleMeterRegistry(), 100,
+                journal.toString());
+    }
+
+    private String journalLine(VerificationStore.JournalEntry entry) throws Exception {
+        return objectMapper.writeValueAsString(entry);
+    }
+}